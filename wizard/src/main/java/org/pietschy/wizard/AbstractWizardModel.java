@@ -19,8 +19,17 @@
 
 package org.pietschy.wizard;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
 
 /**
  * This class provides a base for implementors of {@link WizardModel}. It
@@ -29,8 +38,26 @@ import java.beans.PropertyChangeSupport;
  * <p>
  * Subclasses will generally override {@link #refreshModelState} to update the
  * state of the various model properties.
+ * <p>
+ * Changes to the {@code previousAvailable}, {@code nextAvailable},
+ * {@code lastAvailable}, {@code cancelAvailable} and {@code lastVisible}
+ * properties are followed by a single {@code "modelState"} event, so listeners
+ * interested in all of them need only register for that. Changes made between
+ * {@link #beginUpdate} and {@link #commitUpdate} are sent together when the
+ * update is committed.
+ * <p>
+ * By default the model state is refreshed every time a step's "complete"
+ * property changes. With {@link #setDeferredRefresh} these refreshes are
+ * collapsed into one, run later on the event dispatch thread or when
+ * {@link #flushModelState} is called.
  */
 public abstract class AbstractWizardModel implements WizardModel {
+    private static final ModelProperty[] STATE_PROPERTIES = {
+        ModelProperty.PREVIOUS_AVAILABLE, ModelProperty.NEXT_AVAILABLE, ModelProperty.LAST_AVAILABLE,
+        ModelProperty.CANCEL_AVAILABLE, ModelProperty.LAST_VISIBLE
+    };
+    private static final PropertyChangeListener[] NO_LISTENERS = {};
+
     private WizardStep activeStep;
     private boolean previousAvailable;
     private boolean nextAvailable;
@@ -38,20 +65,41 @@ public abstract class AbstractWizardModel implements WizardModel {
     private boolean cancelAvailable;
     private boolean lastVisible = true;
     private final PropertyChangeSupport pcs;
+    private final PropertyChangeListener[][] propertyListeners =
+            new PropertyChangeListener[ModelProperty.values().length][];
+    private int updateDepth;
+    private int stateAtBeginUpdate;
+    private final List<WizardStep> monitoredSteps = new ArrayList<>();
+    private final Set<WizardStep> incompleteSteps = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<WizardStep> incompleteStepsView = Collections.unmodifiableSet(incompleteSteps);
+    private boolean deferredRefresh;
+    private boolean refreshPending;
+    private final Runnable pendingRefresh = this::flushModelState;
 
     private final PropertyChangeListener completeListener = evt -> {
-        if (evt.getPropertyName().equals("complete")) {
+        if (evt.getSource() instanceof WizardStep) {
+            WizardStep step = (WizardStep) evt.getSource();
+            boolean complete = step.isComplete();
+            if (complete ? incompleteSteps.remove(step) : incompleteSteps.add(step)) {
+                stepCompleteChanged(step, complete);
+            }
+        }
 
-            // only respond to the complete step when there is an active step. This catches the case
-            // where setComplete is called while during init before the model has been started.
-            if (getActiveStep() != null) {
-               refreshModelState();
+        // only respond to the complete step when there is an active step. This catches the case
+        // where setComplete is called while during init before the model has been started.
+        if (getActiveStep() != null) {
+            if (!deferredRefresh) {
+                refreshInUpdate();
+            } else if (!refreshPending) {
+                refreshPending = true;
+                SwingUtilities.invokeLater(pendingRefresh);
             }
         }
     };
 
     public AbstractWizardModel() {
         pcs = new PropertyChangeSupport(this);
+        Arrays.fill(propertyListeners, NO_LISTENERS);
     }
 
     @Override
@@ -69,11 +117,87 @@ public abstract class AbstractWizardModel implements WizardModel {
         if (this.activeStep != activeStep) {
             WizardStep old = this.activeStep;
             this.activeStep = activeStep;
-            pcs.firePropertyChange("activeStep", old, activeStep);
-            refreshModelState();
+            refreshPending = false;
+            beginUpdate();
+            try {
+                firePropertyChange(ModelProperty.ACTIVE_STEP, old, activeStep);
+                refreshModelState();
+            } finally {
+                commitUpdate();
+            }
+        }
+    }
+
+    /**
+     * Starts collecting changes to the state of the model. The property change
+     * events are held back until the matching call to {@link #commitUpdate}, and
+     * then only sent for the properties whose values differ from when the update
+     * began, followed by one {@code "modelState"} event. Updates may be nested,
+     * in which case the events are sent when the outermost update is committed.
+     * <p>
+     * The event for each changed property is still delivered, at most once per
+     * update, to the listeners registered for that property or for all
+     * properties. The {@code "modelState"} event is only delivered to listeners
+     * registered for it, by name or with {@link ModelProperty#MODEL_STATE}, so
+     * a listener registered for all properties receives no more events than it
+     * did before updates were collected.
+     *
+     * <pre>
+     * beginUpdate();
+     * try {
+     *     setNextAvailable(...);
+     *     setLastAvailable(...);
+     * } finally {
+     *     commitUpdate();
+     * }
+     * </pre>
+     */
+    public void beginUpdate() {
+        if (updateDepth++ == 0) {
+            stateAtBeginUpdate = getState();
+        }
+    }
+
+    /**
+     * Completes an update started with {@link #beginUpdate}.
+     *
+     * @throws IllegalStateException if there is no update in progress.
+     */
+    public void commitUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("No update in progress");
+        }
+
+        if (--updateDepth == 0) {
+            int state = getState();
+            int changed = state ^ stateAtBeginUpdate;
+            if (changed != 0) {
+                for (int i = 0; i < STATE_PROPERTIES.length; i++) {
+                    if ((changed & (1 << i)) != 0) {
+                        boolean value = (state & (1 << i)) != 0;
+                        firePropertyChange(STATE_PROPERTIES[i], !value, value);
+                    }
+                }
+                fireModelState();
+            }
         }
     }
 
+    /**
+     * Checks if an update started with {@link #beginUpdate} is in progress.
+     */
+    public boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
+    private int getState() {
+        return (previousAvailable ? 1 : 0)
+                | (nextAvailable ? 2 : 0)
+                | (lastAvailable ? 4 : 0)
+                | (cancelAvailable ? 8 : 0)
+                | (lastVisible ? 16 : 0);
+    }
+
     @Override
     public boolean isPreviousAvailable() {
         return previousAvailable;
@@ -97,9 +221,9 @@ public abstract class AbstractWizardModel implements WizardModel {
      */
     protected void setPreviousAvailable(boolean previousAvailable) {
         if (this.previousAvailable != previousAvailable) {
-            boolean old = this.previousAvailable;
+            beginUpdate();
             this.previousAvailable = previousAvailable;
-            pcs.firePropertyChange("previousAvailable", old, previousAvailable);
+            commitUpdate();
         }
     }
 
@@ -111,9 +235,9 @@ public abstract class AbstractWizardModel implements WizardModel {
      */
     protected void setNextAvailable(boolean nextAvailable) {
         if (this.nextAvailable != nextAvailable) {
-            boolean old = this.nextAvailable;
+            beginUpdate();
             this.nextAvailable = nextAvailable;
-            pcs.firePropertyChange("nextAvailable", old, nextAvailable);
+            commitUpdate();
         }
     }
 
@@ -125,9 +249,9 @@ public abstract class AbstractWizardModel implements WizardModel {
      */
     protected void setLastAvailable(boolean lastAvailable) {
         if (this.lastAvailable != lastAvailable) {
-            boolean old = this.lastAvailable;
+            beginUpdate();
             this.lastAvailable = lastAvailable;
-            pcs.firePropertyChange("lastAvailable", old, lastAvailable);
+            commitUpdate();
         }
     }
 
@@ -139,9 +263,9 @@ public abstract class AbstractWizardModel implements WizardModel {
      */
     protected void setCancelAvailable(boolean cancelAvailable) {
         if (this.cancelAvailable != cancelAvailable) {
-            boolean old = this.cancelAvailable;
+            beginUpdate();
             this.cancelAvailable = cancelAvailable;
-            pcs.firePropertyChange("cancelAvailable", old, cancelAvailable);
+            commitUpdate();
         }
     }
 
@@ -164,9 +288,9 @@ public abstract class AbstractWizardModel implements WizardModel {
      */
     public void setLastVisible(boolean lastVisible) {
         if (this.lastVisible != lastVisible) {
-            boolean old = this.lastVisible;
+            beginUpdate();
             this.lastVisible = lastVisible;
-            pcs.firePropertyChange("lastVisible", old, lastVisible);
+            commitUpdate();
         }
     }
 
@@ -174,6 +298,51 @@ public abstract class AbstractWizardModel implements WizardModel {
     public void refreshModelState() {
     }
 
+    /**
+     * Runs a refresh that was deferred by {@link #setDeferredRefresh}, if there
+     * is one.
+     */
+    @Override
+    public void flushModelState() {
+        if (refreshPending) {
+            refreshPending = false;
+            if (getActiveStep() != null) {
+                refreshInUpdate();
+            }
+        }
+    }
+
+    /**
+     * Configures whether changes to a step's "complete" property refresh the
+     * model state immediately (the default) or later. When deferred, all the
+     * changes made during one event on the event dispatch thread, such as
+     * typing a character into a field that a step validates, result in a single
+     * refresh scheduled with {@link SwingUtilities#invokeLater}. The wizard's
+     * actions call {@link #flushModelState} first, so they always navigate
+     * using the current state.
+     *
+     * @param deferredRefresh {@code true} to defer refreshes.
+     */
+    public void setDeferredRefresh(boolean deferredRefresh) {
+        this.deferredRefresh = deferredRefresh;
+        if (!deferredRefresh) {
+            flushModelState();
+        }
+    }
+
+    public boolean isDeferredRefresh() {
+        return deferredRefresh;
+    }
+
+    private void refreshInUpdate() {
+        beginUpdate();
+        try {
+            refreshModelState();
+        } finally {
+            commitUpdate();
+        }
+    }
+
     @Override
     public void addPropertyChangeListener(PropertyChangeListener listener) {
         pcs.addPropertyChangeListener(listener);
@@ -194,14 +363,140 @@ public abstract class AbstractWizardModel implements WizardModel {
         pcs.removePropertyChangeListener(propertyName, listener);
     }
 
+    @Override
+    public void addPropertyChangeListener(ModelProperty property, PropertyChangeListener listener) {
+        if (listener != null) {
+            PropertyChangeListener[] listeners = propertyListeners[property.ordinal()];
+            listeners = Arrays.copyOf(listeners, listeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            propertyListeners[property.ordinal()] = listeners;
+        }
+    }
+
+    @Override
+    public void removePropertyChangeListener(ModelProperty property, PropertyChangeListener listener) {
+        PropertyChangeListener[] listeners = propertyListeners[property.ordinal()];
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                PropertyChangeListener[] remaining = new PropertyChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                propertyListeners[property.ordinal()] = remaining.length == 0 ? NO_LISTENERS : remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners registered for {@code "modelState"}, but not those
+     * registered for all properties.
+     */
+    private void fireModelState() {
+        PropertyChangeListener[] listeners = propertyListeners[ModelProperty.MODEL_STATE.ordinal()];
+        String propertyName = ModelProperty.MODEL_STATE.getPropertyName();
+        PropertyChangeListener[] named = pcs.hasListeners(propertyName)
+                ? pcs.getPropertyChangeListeners(propertyName)
+                : NO_LISTENERS;
+        if (listeners.length == 0 && named.length == 0) {
+            return;
+        }
+
+        PropertyChangeEvent evt = new PropertyChangeEvent(this, propertyName, null, null);
+        for (PropertyChangeListener listener : listeners) {
+            listener.propertyChange(evt);
+        }
+        for (PropertyChangeListener listener : named) {
+            listener.propertyChange(evt);
+        }
+    }
+
+    /**
+     * Notifies the listeners registered for the property, followed by the
+     * listeners registered by name or for all properties. No event is created if
+     * there are no listeners.
+     */
+    private void firePropertyChange(ModelProperty property, Object oldValue, Object newValue) {
+        if (oldValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+
+        PropertyChangeListener[] listeners = propertyListeners[property.ordinal()];
+        String propertyName = property.getPropertyName();
+        if (listeners.length == 0 && !pcs.hasListeners(propertyName)) {
+            return;
+        }
+
+        PropertyChangeEvent evt = new PropertyChangeEvent(this, propertyName, oldValue, newValue);
+        for (PropertyChangeListener listener : listeners) {
+            listener.propertyChange(evt);
+        }
+        pcs.firePropertyChange(evt);
+    }
+
     /**
      * Adds a listener to the "complete" property of the {@link WizardStep}. Any
      * changes to this property will in automatically invoke
      * {@link #refreshModelState()}.
+     * <p>
+     * The completeness of the monitored steps is only read from these events, so
+     * a step whose {@link WizardStep#isComplete} changes without firing the
+     * property won't be noticed until {@link #recheckCompleteSteps} is called.
+     * The built-in models do this when they are reset.
      *
      * @param step the {@link WizardStep} to monitor.
      */
     protected void addCompleteListener(WizardStep step) {
-        step.addPropertyChangeListener(completeListener);
+        step.addPropertyChangeListener("complete", completeListener);
+        monitoredSteps.add(step);
+        if (!step.isComplete()) {
+            incompleteSteps.add(step);
+        }
+    }
+
+    /**
+     * Checks every step monitored by {@link #addCompleteListener} for changes to
+     * {@link WizardStep#isComplete} that weren't announced by a property change
+     * event, calling {@link #stepCompleteChanged} for each one found. This does
+     * not refresh the model state.
+     */
+    protected void recheckCompleteSteps() {
+        for (WizardStep step : monitoredSteps) {
+            boolean complete = step.isComplete();
+            if (complete ? incompleteSteps.remove(step) : incompleteSteps.add(step)) {
+                stepCompleteChanged(step, complete);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of steps monitored by {@link #addCompleteListener} that are
+     * not complete. This is kept up to date as the steps change, so subclasses
+     * can use it rather than checking every step.
+     *
+     * @return the number of incomplete steps.
+     */
+    protected int getIncompleteStepCount() {
+        return incompleteSteps.size();
+    }
+
+    /**
+     * Gets the steps monitored by {@link #addCompleteListener} that are not
+     * complete.
+     *
+     * @return an unmodifiable, identity based view of the incomplete steps.
+     */
+    protected Set<WizardStep> getIncompleteSteps() {
+        return incompleteStepsView;
+    }
+
+    /**
+     * Called when a step monitored by {@link #addCompleteListener} becomes
+     * complete or incomplete, before the model state is refreshed. The default
+     * implementation does nothing.
+     *
+     * @param step     the step that changed.
+     * @param complete the new value of {@link WizardStep#isComplete}.
+     */
+    protected void stepCompleteChanged(WizardStep step, boolean complete) {
     }
 }
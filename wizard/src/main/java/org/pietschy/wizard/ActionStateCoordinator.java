@@ -0,0 +1,88 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.beans.PropertyChangeListener;
+
+/**
+ * Keeps the enabled state of the wizard's own actions up to date. Rather than
+ * each action listening to the model and the active step, the coordinator
+ * listens once and computes the state of every action in a single pass,
+ * updating only the actions whose state has changed.
+ *
+ * @see WizardAction#computeEnabled
+ */
+final class ActionStateCoordinator {
+    private final WizardAction[] actions;
+    private WizardModel model;
+    private WizardStep activeStep;
+
+    private final PropertyChangeListener stepListener = evt -> update();
+
+    private final PropertyChangeListener modelListener = evt -> {
+        if (evt.getPropertyName().equals("activeStep")) {
+            setActiveStep(model.getActiveStep());
+        }
+        update();
+    };
+
+    ActionStateCoordinator(Wizard wizard, WizardAction... actions) {
+        this.actions = actions;
+        wizard.addPropertyChangeListener("model", evt -> setModel((WizardModel) evt.getNewValue()));
+        setModel(wizard.getModel());
+    }
+
+    private void setModel(WizardModel model) {
+        if (this.model != null) {
+            WizardAction.removeModelListener(this.model, modelListener);
+        }
+
+        this.model = model;
+        WizardAction.addModelListener(model, modelListener);
+        setActiveStep(model.getActiveStep());
+        update();
+    }
+
+    private void setActiveStep(WizardStep step) {
+        if (activeStep != null) {
+            activeStep.removePropertyChangeListener("busy", stepListener);
+            activeStep.removePropertyChangeListener("complete", stepListener);
+        }
+
+        activeStep = step;
+        if (activeStep != null) {
+            activeStep.addPropertyChangeListener("busy", stepListener);
+            activeStep.addPropertyChangeListener("complete", stepListener);
+        }
+    }
+
+    /**
+     * Computes the state of all the actions, querying the step once.
+     */
+    void update() {
+        boolean busy = activeStep != null && activeStep.isBusy();
+        for (WizardAction action : actions) {
+            boolean enabled = action.computeEnabled(model, activeStep, busy);
+            if (action.isEnabled() != enabled) {
+                action.setEnabled(enabled);
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.pietschy.wizard;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.LayoutManager;
+import java.beans.PropertyChangeListener;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -54,9 +55,16 @@ public class ButtonBar extends JPanel {
     protected Component lastButtonGap = Box.createHorizontalStrut(RELATED_GAP);
     protected Component helpButtonGap = Box.createHorizontalStrut(UNRELATED_GAP);
 
+    private final PropertyChangeListener lastVisibleListener = evt -> configureLastButton();
+
     public ButtonBar(Wizard wizard) {
         this.wizard = wizard;
-        this.wizard.getModel().addPropertyChangeListener("lastVisible", evt -> configureLastButton());
+        this.wizard.getModel().addPropertyChangeListener(ModelProperty.LAST_VISIBLE, lastVisibleListener);
+        this.wizard.addPropertyChangeListener("model", evt -> {
+            ((WizardModel) evt.getOldValue()).removePropertyChangeListener(ModelProperty.LAST_VISIBLE, lastVisibleListener);
+            ((WizardModel) evt.getNewValue()).addPropertyChangeListener(ModelProperty.LAST_VISIBLE, lastVisibleListener);
+            configureLastButton();
+        });
 
         this.wizard.addPropertyChangeListener("helpBroker", evt -> configureHelpButton());
 
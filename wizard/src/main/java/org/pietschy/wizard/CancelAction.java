@@ -23,7 +23,7 @@ import java.awt.event.ActionEvent;
 
 class CancelAction extends WizardAction {
     protected CancelAction(Wizard model) {
-        super("cancel", model);
+        super("cancel", model, true);
     }
 
     @Override
@@ -33,6 +33,11 @@ class CancelAction extends WizardAction {
 
     @Override
     protected void updateState() {
-        setEnabled(getModel().isCancelAvailable());
+        updateEnabled();
+    }
+
+    @Override
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return model.isCancelAvailable();
     }
 }
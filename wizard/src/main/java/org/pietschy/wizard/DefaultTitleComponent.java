@@ -23,35 +23,44 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Insets;
 import java.awt.Paint;
+import java.beans.PropertyChangeListener;
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
-import javax.swing.JEditorPane;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
 /**
  * This class displays the details of the current {@link WizardStep}. It
- * displays the steps name, summary and icon. During construction, the title
- * component iterates over all of the wizards steps to determine its appropriate
- * size.
+ * displays the steps name, summary and icon. When it is first laid out, and
+ * whenever the wizard is bound to a new model, the title component iterates over
+ * all of the wizards steps to determine the size of the icon area. This can be
+ * avoided by declaring the {@link #setMaximumIconSize maximum icon size}, while
+ * {@link LazyIcon} allows the icons to be sized without loading their images.
  */
 public class DefaultTitleComponent extends JPanel {
     private static final Color COLOR_GRAY_230 = new Color(230, 230, 230);
 
     private final JLabel title;
-    private final JEditorPane summary;
+    private final SummaryPane summary;
     private final JLabel iconLabel;
 
-    private final WizardModel model;
+    private WizardModel model;
 
     private boolean gradientBackground = false;
     private Color fadeColor = COLOR_GRAY_230;
 
+    private Dimension maximumIconSize;
+    private Dimension iconAreaSize;
+
+    private final PropertyChangeListener activeStepListener = evt -> showStep(model.getActiveStep());
+
     protected DefaultTitleComponent(Wizard wizard) {
         model = wizard.getModel();
 
@@ -62,37 +71,29 @@ public class DefaultTitleComponent extends JPanel {
         title = new JLabel();
         title.setFont(title.getFont().deriveFont(Font.BOLD));
 
-        summary = new HTMLPane(false);
+        // plain text summaries avoid loading the HTML editor kit.
+        summary = new SummaryPane();
         summary.setFont(title.getFont().deriveFont(Font.PLAIN));
-        summary.setEditable(false);
-        summary.setEnabled(false);
         summary.setForeground(Color.BLACK);
-        summary.setDisabledTextColor(Color.BLACK);
         summary.setBorder(
                 BorderFactory.createEmptyBorder(Wizard.BORDER_WIDTH / 2, Wizard.BORDER_WIDTH, 0, Wizard.BORDER_WIDTH));
 
-        // lock in the preferred size
-        summary.setText("<html>Blah</html>");
-        Dimension preferredSize = summary.getPreferredSize();
-        preferredSize.width = 0;
-        preferredSize.height *= 2;
-        summary.setPreferredSize(preferredSize);
+        // lock in the preferred size at twice the height of a single line.
+        FontMetrics metrics = summary.getFontMetrics(summary.getFont());
+        Insets insets = summary.getInsets();
+        summary.setPreferredSize(new Dimension(0, 2 * (metrics.getHeight() + insets.top + insets.bottom)));
 
-        // determine the largest icon size.
-        int maxIconHeight = 0;
-        int maxIconWidth = 0;
-        for (WizardStep step : model.steps()) {
-            Icon icon = step.getIcon();
-            if (icon != null) {
-                maxIconWidth = Math.max(maxIconWidth, icon.getIconWidth());
-                maxIconHeight = Math.max(maxIconHeight, icon.getIconHeight());
+        iconLabel = new JLabel() {
+            @Override
+            public Dimension getPreferredSize() {
+                return isPreferredSizeSet() ? super.getPreferredSize() : getIconAreaSize();
             }
-        }
 
-        iconLabel = new JLabel();
-        Dimension maximumSize = new Dimension(maxIconWidth, maxIconHeight);
-        iconLabel.setMaximumSize(maximumSize);
-        iconLabel.setPreferredSize(maximumSize);
+            @Override
+            public Dimension getMaximumSize() {
+                return isMaximumSizeSet() ? super.getMaximumSize() : getIconAreaSize();
+            }
+        };
         if (iconLabel.getComponentOrientation().isLeftToRight()) {
             iconLabel.setHorizontalAlignment(SwingConstants.RIGHT);
         } else {
@@ -114,16 +115,77 @@ public class DefaultTitleComponent extends JPanel {
                 BorderFactory.createCompoundBorder(BorderFactory.createEtchedBorder(), BorderFactory.createEmptyBorder(
                         Wizard.BORDER_WIDTH, Wizard.BORDER_WIDTH, Wizard.BORDER_WIDTH, Wizard.BORDER_WIDTH)));
 
-        model.addPropertyChangeListener(evt -> {
-            if (evt.getPropertyName().equals("activeStep")) {
-                WizardStep activeStep = DefaultTitleComponent.this.model.getActiveStep();
-                title.setText(activeStep.getName());
-                summary.setText(activeStep.getSummary());
-                iconLabel.setIcon(activeStep.getIcon());
-            }
+        model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, activeStepListener);
+        wizard.addPropertyChangeListener("model", evt -> {
+            model.removePropertyChangeListener(ModelProperty.ACTIVE_STEP, activeStepListener);
+            model = (WizardModel) evt.getNewValue();
+            model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, activeStepListener);
+            configureIconSize();
+            showStep(model.getActiveStep());
         });
     }
 
+    /**
+     * Declares the size of the largest step icon, so that the title component can
+     * be sized without examining the icons of every step. Larger icons will be
+     * clipped.
+     *
+     * @param maximumIconSize the size of the icon area, or {@code null} to size it
+     *                        to fit the largest icon of all the steps.
+     */
+    public void setMaximumIconSize(Dimension maximumIconSize) {
+        this.maximumIconSize = maximumIconSize == null ? null : new Dimension(maximumIconSize);
+        configureIconSize();
+    }
+
+    public Dimension getMaximumIconSize() {
+        return maximumIconSize == null ? null : new Dimension(maximumIconSize);
+    }
+
+    /**
+     * Discards the size of the icon area so that it is recalculated when next
+     * required.
+     */
+    private void configureIconSize() {
+        iconAreaSize = null;
+        iconLabel.revalidate();
+    }
+
+    private Dimension getIconAreaSize() {
+        if (maximumIconSize != null) {
+            return new Dimension(maximumIconSize);
+        }
+        if (iconAreaSize == null) {
+            iconAreaSize = calculateIconAreaSize();
+        }
+        return new Dimension(iconAreaSize);
+    }
+
+    /**
+     * Sizes the icon area to fit the largest icon of all the steps.
+     */
+    private Dimension calculateIconAreaSize() {
+        long start = StartupTimeline.mark();
+        int maxIconHeight = 0;
+        int maxIconWidth = 0;
+        for (WizardStep step : model.steps()) {
+            Icon icon = step.getIcon();
+            if (icon != null) {
+                maxIconWidth = Math.max(maxIconWidth, icon.getIconWidth());
+                maxIconHeight = Math.max(maxIconHeight, icon.getIconHeight());
+            }
+        }
+        StartupTimeline.record("titleIcons", start);
+
+        return new Dimension(maxIconWidth, maxIconHeight);
+    }
+
+    private void showStep(WizardStep step) {
+        title.setText(step == null ? null : step.getName());
+        summary.setText(step == null ? null : step.getSummary());
+        iconLabel.setIcon(step == null ? null : step.getIcon());
+    }
+
     /**
      * Checks if the title is using a gradient background. Subclasses can control
      * the appearance of the gradient by overriding {@link #prepareGradient()}.
@@ -23,7 +23,7 @@ import java.awt.event.ActionEvent;
 
 class FinishAction extends WizardAction {
     protected FinishAction(Wizard model) {
-        super("finish", model);
+        super("finish", model, true);
     }
 
     @Override
@@ -44,8 +44,11 @@ class FinishAction extends WizardAction {
 
     @Override
     protected void updateState() {
-        WizardStep activeStep = getActiveStep();
-        setEnabled(activeStep != null && getModel().isLastStep(activeStep) && activeStep.isComplete()
-                && !activeStep.isBusy());
+        updateEnabled();
+    }
+
+    @Override
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return activeStep != null && model.isLastStep(activeStep) && activeStep.isComplete() && !busy;
     }
 }
@@ -23,7 +23,7 @@ import java.awt.event.ActionEvent;
 
 class LastAction extends WizardAction {
     protected LastAction(Wizard model) {
-        super("last", model);
+        super("last", model, true);
     }
 
     @Override
@@ -34,8 +34,11 @@ class LastAction extends WizardAction {
 
     @Override
     protected void updateState() {
-        WizardStep activeStep = getModel().getActiveStep();
-        boolean busy = activeStep != null && activeStep.isBusy();
-        setEnabled(getModel().isLastAvailable() && !busy);
+        updateEnabled();
+    }
+
+    @Override
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return model.isLastAvailable() && !busy;
     }
 }
@@ -0,0 +1,161 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+/**
+ * An {@link Icon} with declared dimensions whose image is only loaded when it
+ * is first painted. Loading happens on a background thread and a placeholder
+ * (or nothing) is painted until it completes, at which point the components that
+ * painted the icon are repainted.
+ * <p>
+ * As the dimensions are declared up front, a wizard can be sized using the icons
+ * of all its steps without decoding any image data. Only the icons of the steps
+ * that are actually visited are ever loaded.
+ *
+ * <pre>
+ *    new MyStep("Name", "Summary", new LazyIcon(MyStep.class.getResource("step.png"), 48, 48));
+ * </pre>
+ *
+ * Instances must only be painted and {@link #load loaded} on the event dispatch
+ * thread.
+ */
+public class LazyIcon implements Icon {
+    private final int width;
+    private final int height;
+    private final Supplier<? extends Icon> loader;
+
+    private Icon placeholder;
+    private Icon icon;
+    private boolean requested = false;
+    private final Set<Component> waitingComponents = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Creates an icon that loads an {@link ImageIcon} from the specified URL.
+     *
+     * @param url    the location of the image.
+     * @param width  the width of the image.
+     * @param height the height of the image.
+     */
+    public LazyIcon(URL url, int width, int height) {
+        this(width, height, () -> new ImageIcon(url));
+    }
+
+    /**
+     * Creates an icon that is loaded by the specified supplier.
+     *
+     * @param width  the width of the icon.
+     * @param height the height of the icon.
+     * @param loader loads the icon, this is called on a background thread.
+     */
+    public LazyIcon(int width, int height, Supplier<? extends Icon> loader) {
+        if (loader == null) {
+            throw new NullPointerException("loader is null");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.loader = loader;
+    }
+
+    /**
+     * Sets the icon to paint while the image is loading.
+     *
+     * @param placeholder the placeholder, or {@code null} to paint nothing.
+     */
+    public void setPlaceholder(Icon placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public Icon getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Checks if the image has been loaded.
+     *
+     * @return {@code true} if the image has been loaded.
+     */
+    public boolean isLoaded() {
+        return icon != null;
+    }
+
+    /**
+     * Starts loading the image if that hasn't already happened, for example to
+     * prefetch the icon of the next step. If loading fails the placeholder
+     * continues to be painted.
+     */
+    public void load() {
+        if (requested) {
+            return;
+        }
+
+        requested = true;
+        CompletableFuture.supplyAsync(loader).whenComplete((loaded, error) -> SwingUtilities.invokeLater(() -> {
+            if (loaded != null) {
+                icon = loaded;
+                for (Component c : new ArrayList<>(waitingComponents)) {
+                    c.repaint();
+                }
+            }
+            waitingComponents.clear();
+        }));
+    }
+
+    @Override
+    public int getIconWidth() {
+        return width;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return height;
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        if (icon != null) {
+            icon.paintIcon(c, g, x, y);
+            return;
+        }
+
+        if (c != null) {
+            waitingComponents.add(c);
+        }
+        load();
+
+        if (placeholder != null) {
+            placeholder.paintIcon(c, g, x, y);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+/**
+ * An optional interface for {@link WizardStep}s whose initialization includes
+ * a data loading phase that is safe to run off the event dispatch thread. When
+ * the wizard is given an {@link java.util.concurrent.Executor} the
+ * {@link #load} methods of all such steps are run concurrently before the first
+ * step is displayed.
+ * <p>
+ * {@link #load} is always invoked before {@link WizardStep#init}, and at most
+ * once per step.
+ *
+ * @see Wizard#Wizard(WizardModel, int, java.util.concurrent.Executor)
+ */
+public interface LoadableStep {
+    /**
+     * Loads the data required by the step. This method may be called on a
+     * background thread and concurrently with the {@code load} methods of other
+     * steps, so implementations must not access Swing components or state shared
+     * with other steps. Any Swing work belongs in {@link WizardStep#init}.
+     *
+     * @param model the model to which the step belongs.
+     */
+    void load(WizardModel model);
+}
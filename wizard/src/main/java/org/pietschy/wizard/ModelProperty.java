@@ -0,0 +1,55 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+/**
+ * The properties of a {@link WizardModel} that fire change events. Listeners
+ * can register for a single property using
+ * {@link WizardModel#addPropertyChangeListener(ModelProperty, java.beans.PropertyChangeListener)},
+ * so they only receive the events they need.
+ */
+public enum ModelProperty {
+    ACTIVE_STEP("activeStep"),
+    PREVIOUS_AVAILABLE("previousAvailable"),
+    NEXT_AVAILABLE("nextAvailable"),
+    LAST_AVAILABLE("lastAvailable"),
+    CANCEL_AVAILABLE("cancelAvailable"),
+    LAST_VISIBLE("lastVisible"),
+
+    /**
+     * Fired by {@link AbstractWizardModel} once after any of the availability
+     * properties or {@code lastVisible} have changed. It is only sent to
+     * listeners registered for it, not to those listening to all properties.
+     */
+    MODEL_STATE("modelState");
+
+    private final String propertyName;
+
+    ModelProperty(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Gets the name of the property used in {@link java.beans.PropertyChangeEvent}s.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
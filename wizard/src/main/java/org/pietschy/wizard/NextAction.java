@@ -21,11 +21,13 @@ package org.pietschy.wizard;
 
 import java.awt.event.ActionEvent;
 
+import javax.swing.Action;
 import javax.swing.SwingConstants;
 
 class NextAction extends WizardAction {
     protected NextAction(Wizard model) {
-        super("next", model, new ArrowIcon(SwingConstants.EAST));
+        super("next", model, true);
+        putValue(Action.SMALL_ICON, new ArrowIcon(SwingConstants.EAST));
     }
 
     @Override
@@ -36,8 +38,11 @@ class NextAction extends WizardAction {
 
     @Override
     protected void updateState() {
-        WizardStep activeStep = getActiveStep();
-        boolean busy = activeStep != null && activeStep.isBusy();
-        setEnabled(getModel().isNextAvailable() && !busy);
+        updateEnabled();
+    }
+
+    @Override
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return model.isNextAvailable() && !busy;
     }
 }
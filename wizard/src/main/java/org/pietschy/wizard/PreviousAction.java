@@ -21,11 +21,13 @@ package org.pietschy.wizard;
 
 import java.awt.event.ActionEvent;
 
+import javax.swing.Action;
 import javax.swing.SwingConstants;
 
 class PreviousAction extends WizardAction {
     protected PreviousAction(Wizard model) {
-        super("previous", model, new ArrowIcon(SwingConstants.WEST));
+        super("previous", model, true);
+        putValue(Action.SMALL_ICON, new ArrowIcon(SwingConstants.WEST));
     }
 
     @Override
@@ -35,8 +37,11 @@ class PreviousAction extends WizardAction {
 
     @Override
     protected void updateState() {
-        WizardStep activeStep = getActiveStep();
-        boolean busy = activeStep != null && activeStep.isBusy();
-        setEnabled(getModel().isPreviousAvailable() && !busy);
+        updateEnabled();
+    }
+
+    @Override
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return model.isPreviousAvailable() && !busy;
     }
 }
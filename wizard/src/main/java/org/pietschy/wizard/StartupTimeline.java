@@ -0,0 +1,234 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records how long each phase of building and displaying a {@link Wizard} takes.
+ * Recording is opt-in and applies to the thread that calls {@link #start}, which
+ * is typically the event dispatch thread.
+ *
+ * <pre>
+ *    StartupTimeline timeline = StartupTimeline.start();
+ *    try {
+ *       Wizard wizard = new Wizard(model);
+ *       wizard.showInFrame("My Wizard");
+ *    } finally {
+ *       timeline.stop();
+ *    }
+ *    timeline.dump(System.out);
+ * </pre>
+ *
+ * The phases recorded by the framework are {@code actions}, {@code load},
+ * {@code loadWait}, {@code init}, {@code titleComponent}, {@code titleIcons}, {@code buttonBar},
+ * {@code overview}, {@code reset}, {@code prepare}, {@code stepSize},
+ * {@code measure} and {@code wizard} (the whole constructor). Phases that relate
+ * to a single step record the step's name. Applications may record their own
+ * phases using {@link #mark} and {@link #record}.
+ */
+public class StartupTimeline {
+    private static final ThreadLocal<StartupTimeline> CURRENT = new ThreadLocal<>();
+
+    private final long origin = System.nanoTime();
+    private final List<Entry> entries = Collections.synchronizedList(new ArrayList<>());
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Starts recording on the current thread.
+     *
+     * @return the timeline that will receive the timings.
+     */
+    public static StartupTimeline start() {
+        StartupTimeline timeline = new StartupTimeline();
+        CURRENT.set(timeline);
+        return timeline;
+    }
+
+    /**
+     * Stops recording on the current thread. Timings recorded by other threads on
+     * behalf of this timeline, such as background step loading, are still
+     * accepted.
+     */
+    public void stop() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Gets the timeline recording on the current thread.
+     *
+     * @return the active timeline or {@code null} if none is recording.
+     */
+    public static StartupTimeline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the start time of a phase to later pass to {@link #record}.
+     *
+     * @return the current value of {@link System#nanoTime()}.
+     */
+    public static long mark() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a phase that started at {@code start} and finishes now, if a timeline
+     * is recording on the current thread.
+     *
+     * @param phase the name of the phase.
+     * @param start the value returned from {@link #mark} at the start of the phase.
+     */
+    public static void record(String phase, long start) {
+        record(phase, null, start);
+    }
+
+    /**
+     * Records a phase that relates to a single step, if a timeline is recording on
+     * the current thread.
+     *
+     * @param phase the name of the phase.
+     * @param step  the step the phase relates to, or {@code null}.
+     * @param start the value returned from {@link #mark} at the start of the phase.
+     */
+    public static void record(String phase, WizardStep step, long start) {
+        StartupTimeline timeline = CURRENT.get();
+        if (timeline != null) {
+            timeline.add(phase, step, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * Adds a timing to this timeline. Unlike {@link #record} this may be called
+     * from any thread.
+     *
+     * @param phase the name of the phase.
+     * @param step  the step the phase relates to, or {@code null}.
+     * @param start the {@link System#nanoTime()} at the start of the phase.
+     * @param end   the {@link System#nanoTime()} at the end of the phase.
+     */
+    public void add(String phase, WizardStep step, long start, long end) {
+        entries.add(new Entry(phase, step == null ? null : step.getName(), start - origin, end - start,
+                Thread.currentThread().getName()));
+    }
+
+    /**
+     * Gets the recorded timings in the order they finished.
+     *
+     * @return a copy of the recorded timings.
+     */
+    public List<Entry> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * Gets the sum of the durations of all the timings for the specified phase.
+     *
+     * @param phase the name of the phase.
+     * @return the total time spent in the phase in nanoseconds.
+     */
+    public long getTotalNanos(String phase) {
+        long total = 0;
+        for (Entry entry : getEntries()) {
+            if (entry.getPhase().equals(phase)) {
+                total += entry.getDurationNanos();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Writes the timings as tab separated lines of offset (from {@link #start}) and
+     * duration in nanoseconds, phase, step name and thread name.
+     *
+     * @param out where to write the timings.
+     * @throws IOException if {@code out} fails.
+     */
+    public void dump(Appendable out) throws IOException {
+        for (Entry entry : getEntries()) {
+            out.append(Long.toString(entry.getOffsetNanos())).append('\t')
+                    .append(Long.toString(entry.getDurationNanos())).append('\t')
+                    .append(entry.getPhase()).append('\t')
+                    .append(entry.getStepName() == null ? "-" : entry.getStepName()).append('\t')
+                    .append(entry.getThreadName()).append('\n');
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            dump(sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A single recorded timing.
+     */
+    public static final class Entry {
+        private final String phase;
+        private final String stepName;
+        private final long offsetNanos;
+        private final long durationNanos;
+        private final String threadName;
+
+        Entry(String phase, String stepName, long offsetNanos, long durationNanos, String threadName) {
+            this.phase = phase;
+            this.stepName = stepName;
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+            this.threadName = threadName;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        /** Gets the name of the step the timing relates to, or {@code null}. */
+        public String getStepName() {
+            return stepName;
+        }
+
+        /** Gets when the phase started, relative to the start of the timeline. */
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+    }
+}
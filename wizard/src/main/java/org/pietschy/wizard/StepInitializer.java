@@ -0,0 +1,119 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Tracks which steps of a model have been loaded and initialized so that
+ * {@link LoadableStep#load} and {@link WizardStep#init} are each invoked exactly
+ * once, regardless of whether it happens up front, on demand or in parallel.
+ */
+class StepInitializer {
+    private final WizardModel model;
+    private final Set<WizardStep> loadedSteps = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<WizardStep> initializedSteps = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    StepInitializer(WizardModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Runs the {@link LoadableStep#load} method of each of the specified steps on
+     * the executor. Steps that have already been loaded are skipped.
+     *
+     * @return a future that completes once all the steps have been loaded.
+     */
+    CompletableFuture<Void> loadAll(Iterable<WizardStep> steps, Executor executor) {
+        StartupTimeline timeline = StartupTimeline.current();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (WizardStep step : steps) {
+            if (step instanceof LoadableStep && markLoaded(step)) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    long start = StartupTimeline.mark();
+                    ((LoadableStep) step).load(model);
+                    if (timeline != null) {
+                        timeline.add("load", step, start, StartupTimeline.mark());
+                    }
+                }, executor));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Waits for the future returned by {@link #loadAll} to complete, rethrowing
+     * any exception thrown by a step.
+     */
+    static void join(CompletableFuture<Void> loading) {
+        try {
+            loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads (if required) and initializes the specified step, unless this has
+     * already been done.
+     */
+    void initialize(WizardStep step) {
+        if (step instanceof LoadableStep && markLoaded(step)) {
+            long start = StartupTimeline.mark();
+            ((LoadableStep) step).load(model);
+            StartupTimeline.record("load", step, start);
+        }
+
+        if (initializedSteps.add(step)) {
+            long start = StartupTimeline.mark();
+            step.init(model);
+            StartupTimeline.record("init", step, start);
+        }
+    }
+
+    WizardModel getModel() {
+        return model;
+    }
+
+    boolean isInitialized(WizardStep step) {
+        return initializedSteps.contains(step);
+    }
+
+    private boolean markLoaded(WizardStep step) {
+        synchronized (loadedSteps) {
+            return loadedSteps.add(step);
+        }
+    }
+}
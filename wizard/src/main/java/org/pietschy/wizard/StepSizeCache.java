@@ -0,0 +1,174 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.util.Locale;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import javax.swing.UIManager;
+
+/**
+ * Remembers the {@link WizardStep#getPreferredSize preferred size} of wizard
+ * steps between launches so that the {@link Wizard} doesn't need to lay out every
+ * step to determine its own size. Hints are stored in a {@link Preferences} node
+ * and are keyed by the class and name of each step.
+ * <p>
+ * The hints are only valid for the environment they were measured in. When the
+ * Look and Feel, default locale, font size or screen resolution changes, all the
+ * stored hints are discarded and the steps are measured again.
+ * <p>
+ * Steps that share both a class and a name share a single hint. Applications
+ * whose step layouts change between releases should either call {@link #clear}
+ * when upgrading or supply a node that is specific to the release.
+ *
+ * @see Wizard#setStepSizeCache
+ */
+public class StepSizeCache {
+    private static final String ENVIRONMENT_KEY = "environment";
+
+    private final Preferences preferences;
+    private String environment;
+
+    /**
+     * Creates a new cache that stores its hints in the current user's preferences.
+     */
+    public StepSizeCache() {
+        this(Preferences.userNodeForPackage(StepSizeCache.class).node("stepSizes"));
+    }
+
+    /**
+     * Creates a new cache that stores its hints in the specified node.
+     *
+     * @param preferences the node that will hold the hints.
+     */
+    public StepSizeCache(Preferences preferences) {
+        if (preferences == null) {
+            throw new NullPointerException("preferences is null");
+        }
+
+        this.preferences = preferences;
+    }
+
+    /**
+     * Gets the stored size of the specified step.
+     *
+     * @param step the step.
+     * @return the size previously recorded by {@link #put}, or {@code null} if
+     *         the step needs to be measured.
+     */
+    public Dimension get(WizardStep step) {
+        checkEnvironment();
+        String value = preferences.get(getKey(step), null);
+        if (value == null) {
+            return null;
+        }
+
+        int comma = value.indexOf(',');
+        try {
+            return new Dimension(Integer.parseInt(value.substring(0, comma)),
+                    Integer.parseInt(value.substring(comma + 1)));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records the measured size of the specified step.
+     *
+     * @param step the step.
+     * @param size its preferred size.
+     */
+    public void put(WizardStep step, Dimension size) {
+        checkEnvironment();
+        preferences.put(getKey(step), size.width + "," + size.height);
+    }
+
+    /**
+     * Discards all the stored hints.
+     */
+    public void clear() {
+        try {
+            preferences.clear();
+        } catch (BackingStoreException e) {
+            // nothing was stored, so there is nothing to clear.
+        }
+        environment = null;
+    }
+
+    /**
+     * Gets the key that identifies the step across launches. By default this is
+     * the class name of the step followed by its name. Subclasses may override to
+     * provide a more specific key.
+     *
+     * @param step the step.
+     * @return the key that identifies the step.
+     */
+    protected String getStepKey(WizardStep step) {
+        return step.getClass().getName() + '#' + step.getName();
+    }
+
+    /**
+     * Describes the environment that influences the size of the steps. Hints
+     * stored under a different environment are discarded. Subclasses may override
+     * to include additional details, such as the version of the application.
+     *
+     * @return a description of the current environment.
+     */
+    protected String getEnvironmentKey() {
+        StringBuilder key = new StringBuilder();
+        key.append(UIManager.getLookAndFeel() == null ? "" : UIManager.getLookAndFeel().getClass().getName());
+        key.append(';').append(Locale.getDefault());
+
+        Font font = UIManager.getFont("Label.font");
+        key.append(';').append(font == null ? 0 : font.getSize());
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            key.append(';').append(Toolkit.getDefaultToolkit().getScreenResolution());
+        }
+
+        return key.toString();
+    }
+
+    private String getKey(WizardStep step) {
+        String key = getStepKey(step);
+        if (key.length() > Preferences.MAX_KEY_LENGTH) {
+            key = key.substring(0, Preferences.MAX_KEY_LENGTH - 9) + '#' + Integer.toHexString(key.hashCode());
+        }
+        return key;
+    }
+
+    private void checkEnvironment() {
+        String current = getEnvironmentKey();
+        if (current.equals(environment)) {
+            return;
+        }
+
+        if (!current.equals(preferences.get(ENVIRONMENT_KEY, null))) {
+            clear();
+            preferences.put(ENVIRONMENT_KEY, current);
+        }
+        environment = current;
+    }
+}
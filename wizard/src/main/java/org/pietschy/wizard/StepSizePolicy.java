@@ -0,0 +1,147 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.awt.Dimension;
+import java.util.List;
+
+/**
+ * Determines the size of the main area of a {@link Wizard}, being the area that
+ * displays the view of the active {@link WizardStep}. The initial size is
+ * calculated when the wizard is first laid out. Policies may then grow the area
+ * as each step is activated, in which case the wizard's window is enlarged if it
+ * is too small to display the step.
+ *
+ * @see Wizard#setStepSizePolicy
+ */
+public interface StepSizePolicy {
+
+    /**
+     * Sizes the wizard to fit the largest of all its steps. This is the default
+     * policy. Every step is measured up front and the size never changes, unless
+     * the wizard uses {@link Wizard#INIT_LAZY}. In that case only the steps that
+     * have been initialized are measured up front, and the area grows as the
+     * other steps are initialized and activated.
+     */
+    StepSizePolicy ALL_STEPS = new StepSizePolicy() {
+        @Override
+        public Dimension getInitialSize(Wizard wizard) {
+            boolean lazy = wizard.getInitMode() == Wizard.INIT_LAZY;
+            Dimension size = new Dimension();
+            for (WizardStep step : wizard.getModel().steps()) {
+                if (!lazy || wizard.isStepInitialized(step)) {
+                    grow(size, wizard.measureStep(step));
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public Dimension getActivatedSize(Wizard wizard, WizardStep step, Dimension currentSize) {
+            if (wizard.getInitMode() != Wizard.INIT_LAZY) {
+                return currentSize;
+            }
+            return grow(currentSize, wizard.measureStep(step));
+        }
+    };
+
+    /**
+     * Calculates the initial size of the wizard's main area. This is called when
+     * the wizard is first laid out, by which time the model has been reset.
+     *
+     * @param wizard the wizard.
+     * @return the initial size.
+     */
+    Dimension getInitialSize(Wizard wizard);
+
+    /**
+     * Called whenever a step is activated to determine if the main area must
+     * change size. The default implementation returns the current size.
+     *
+     * @param wizard      the wizard.
+     * @param step        the step that has been activated.
+     * @param currentSize the current size of the main area.
+     * @return the new size of the main area.
+     */
+    default Dimension getActivatedSize(Wizard wizard, WizardStep step, Dimension currentSize) {
+        return currentSize;
+    }
+
+    /**
+     * Creates a policy that initially measures only the active step and up to
+     * {@code count} steps from the start of {@link WizardModel#steps()}, then
+     * grows the main area whenever a larger step is activated. The area never
+     * shrinks. This avoids realizing the view of every step in very large wizards.
+     * With {@link Wizard#INIT_LAZY} the measured steps are initialized first.
+     *
+     * @param count the number of steps to measure up front.
+     * @return the policy.
+     */
+    static StepSizePolicy firstSteps(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count is negative: " + count);
+        }
+
+        return new StepSizePolicy() {
+            @Override
+            public Dimension getInitialSize(Wizard wizard) {
+                Dimension size = new Dimension();
+                List<WizardStep> steps = wizard.getModel().steps();
+                for (int i = 0; i < count && i < steps.size(); i++) {
+                    grow(size, wizard.measureStep(steps.get(i)));
+                }
+
+                WizardStep activeStep = wizard.getModel().getActiveStep();
+                if (activeStep != null) {
+                    grow(size, wizard.measureStep(activeStep));
+                }
+                return size;
+            }
+
+            @Override
+            public Dimension getActivatedSize(Wizard wizard, WizardStep step, Dimension currentSize) {
+                return grow(currentSize, wizard.measureStep(step));
+            }
+        };
+    }
+
+    /**
+     * Creates a policy that always uses the specified size. None of the steps are
+     * measured.
+     *
+     * @param size the size of the main area.
+     * @return the policy.
+     */
+    static StepSizePolicy fixed(Dimension size) {
+        Dimension fixedSize = new Dimension(size);
+        return wizard -> new Dimension(fixedSize);
+    }
+
+    /**
+     * Enlarges {@code size} so that it is at least as large as {@code other}.
+     *
+     * @return {@code size}
+     */
+    static Dimension grow(Dimension size, Dimension other) {
+        size.width = Math.max(size.width, other.width);
+        size.height = Math.max(size.height, other.height);
+        return size;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Font;
+
+import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Displays the summary of a {@link WizardStep}. Plain text summaries are shown
+ * in a lightweight wrapping text area. An {@link HTMLPane} is only created, and
+ * the HTML editor kit only loaded, once a summary containing markup is
+ * displayed.
+ */
+class SummaryPane extends JPanel {
+    private final JTextArea plainText;
+    private HTMLPane htmlText;
+
+    SummaryPane() {
+        super(new BorderLayout());
+        setOpaque(false);
+
+        plainText = new JTextArea();
+        plainText.setLineWrap(true);
+        plainText.setWrapStyleWord(true);
+        plainText.setFocusable(false);
+        configure(plainText);
+        add(plainText, BorderLayout.CENTER);
+    }
+
+    /**
+     * Displays the specified summary. Text containing a '&lt;' or '&amp;' is
+     * treated as HTML, to match the behaviour of earlier versions that always
+     * rendered the summary as HTML.
+     *
+     * @param text the summary, may be {@code null}.
+     */
+    void setText(String text) {
+        if (isHTML(text)) {
+            if (htmlText == null) {
+                htmlText = new HTMLPane(false);
+                configure(htmlText);
+            }
+            show(htmlText);
+            htmlText.setText(text);
+        } else {
+            show(plainText);
+            plainText.setText(text);
+            plainText.setCaretPosition(0);
+        }
+    }
+
+    private static boolean isHTML(String text) {
+        return text != null && (text.indexOf('<') >= 0 || text.indexOf('&') >= 0);
+    }
+
+    private void show(JTextComponent component) {
+        if (component.getParent() != this) {
+            removeAll();
+            add(component, BorderLayout.CENTER);
+            revalidate();
+            repaint();
+        }
+    }
+
+    private void configure(JTextComponent component) {
+        component.setFont(getFont());
+        component.setEditable(false);
+        component.setEnabled(false);
+        component.setForeground(getForeground());
+        component.setDisabledTextColor(getForeground());
+        component.setOpaque(false);
+        component.setBorder(null);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (plainText != null) {
+            plainText.setFont(font);
+        }
+        if (htmlText != null) {
+            htmlText.setFont(font);
+        }
+    }
+
+    @Override
+    public void setForeground(Color fg) {
+        super.setForeground(fg);
+        if (plainText != null) {
+            plainText.setForeground(fg);
+            plainText.setDisabledTextColor(fg);
+        }
+        if (htmlText != null) {
+            htmlText.setForeground(fg);
+            htmlText.setDisabledTextColor(fg);
+        }
+    }
+}
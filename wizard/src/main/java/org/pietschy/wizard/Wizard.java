@@ -29,6 +29,12 @@ import java.awt.Window;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
@@ -86,6 +92,24 @@ public class Wizard extends JPanel {
      */
     public static final int EXIT_ON_FINISH = 2;
 
+    /**
+     * When specified as the initialization mode, every {@link WizardStep} is
+     * initialized by the constructor before the wizard is displayed. This is the
+     * default.
+     *
+     * @see #INIT_LAZY
+     */
+    public static final int INIT_EAGER = 1;
+
+    /**
+     * When specified as the initialization mode, each {@link WizardStep} is only
+     * initialized when it is about to become active or when it is
+     * {@link #prefetchStep prefetched}. Each step is still initialized exactly once.
+     *
+     * @see #INIT_EAGER
+     */
+    public static final int INIT_LAZY = 2;
+
     private final NextAction nextAction;
     private final PreviousAction previousAction;
     private final LastAction lastAction;
@@ -97,8 +121,10 @@ public class Wizard extends JPanel {
     private HelpBroker helpBroker;
 
     private WizardStep activeStep;
-    private final WizardModel model;
+    private WizardModel model;
     private int defaultExitMode = EXIT_ON_CLOSE;
+    private final int initMode;
+    private StepInitializer stepInitializer;
 
     private final JComponent titleComponent;
     private final ButtonBar buttonBar;
@@ -110,20 +136,65 @@ public class Wizard extends JPanel {
 
     private boolean canceled = false;
 
+    private StepSizePolicy stepSizePolicy = StepSizePolicy.ALL_STEPS;
+    private StepSizeCache stepSizeCache;
+    private Dimension preferredStepSize;
+
     private final PropertyChangeListener viewListener = evt -> handleViewChange();
 
+    private final PropertyChangeListener modelListener = evt -> handleStepChange();
+
     public Wizard(WizardModel model) {
+        this(model, INIT_EAGER);
+    }
+
+    /**
+     * Creates a new wizard that initializes its steps according to the specified
+     * mode. The two allowable values are {@link #INIT_EAGER} and
+     * {@link #INIT_LAZY}.
+     *
+     * @param model    the wizard model.
+     * @param initMode when the steps of the model should be initialized.
+     */
+    public Wizard(WizardModel model, int initMode) {
+        this(model, initMode, null);
+    }
+
+    /**
+     * Creates a new wizard that initializes its steps according to the specified
+     * mode, running the {@link LoadableStep#load data loading} phase of its steps
+     * in parallel on the specified executor. All loading has finished by the time
+     * the constructor returns and the first step is displayed.
+     * <p>
+     * Steps that don't implement {@link LoadableStep} are unaffected by the
+     * executor.
+     *
+     * @param model        the wizard model.
+     * @param initMode     when the steps of the model should be initialized, either
+     *                     {@link #INIT_EAGER} or {@link #INIT_LAZY}.
+     * @param loadExecutor the executor used to load the steps, or {@code null} to
+     *                     load each step on the calling thread just before it is
+     *                     initialized.
+     */
+    public Wizard(WizardModel model, int initMode, Executor loadExecutor) {
+        this(model, initMode, loadExecutor, new StepInitializer(model));
+    }
+
+    Wizard(WizardModel model, int initMode, Executor loadExecutor, StepInitializer stepInitializer) {
         if (model == null) {
             throw new NullPointerException("models is null");
         }
+        if (initMode != INIT_EAGER && initMode != INIT_LAZY) {
+            throw new IllegalArgumentException();
+        }
 
+        long wizardStart = StartupTimeline.mark();
         this.model = model;
-        this.model.addPropertyChangeListener(evt -> {
-            if (evt.getPropertyName().equals("activeStep")) {
-                handleStepChange();
-            }
-        });
+        this.initMode = initMode;
+        this.stepInitializer = stepInitializer;
+        this.model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, modelListener);
 
+        long start = StartupTimeline.mark();
         nextAction = new NextAction(this);
         previousAction = new PreviousAction(this);
         lastAction = new LastAction(this);
@@ -131,22 +202,42 @@ public class Wizard extends JPanel {
         cancelAction = new CancelAction(this);
         closeAction = new CloseAction(this);
         helpAction = new HelpAction(this);
+        new ActionStateCoordinator(this, nextAction, previousAction, lastAction, finishAction, cancelAction);
+        StartupTimeline.record("actions", start);
 
-        // initialize all the wizard steps.
-        for (WizardStep step : model.steps()) {
-            step.init(this.model);
+        if (loadExecutor != null) {
+            start = StartupTimeline.mark();
+            StepInitializer.join(stepInitializer.loadAll(model.steps(), loadExecutor));
+            StartupTimeline.record("loadWait", start);
+        }
+
+        // initialize all the wizard steps, unless they are to be initialized on demand.
+        if (initMode == INIT_EAGER) {
+            for (WizardStep step : model.steps()) {
+                initializeStep(step);
+            }
         }
 
         setLayout(new BorderLayout());
 
+        start = StartupTimeline.mark();
         titleComponent = createTitleComponent();
+        StartupTimeline.record("titleComponent", start);
+
+        start = StartupTimeline.mark();
         buttonBar = createButtonBar();
+        StartupTimeline.record("buttonBar", start);
 
         mainContainer = new JPanel(new BorderLayout());
         overviewContainer = new JPanel(new BorderLayout());
 
-        viewPanel = new JPanel(new BorderLayout());
-        viewPanel.setPreferredSize(calculatePreferredStepSize());
+        // the step size is calculated on demand, typically when the wizard's window is packed.
+        viewPanel = new JPanel(new BorderLayout()) {
+            @Override
+            public Dimension getPreferredSize() {
+                return isPreferredSizeSet() ? super.getPreferredSize() : getPreferredStepSize();
+            }
+        };
         mainContainer.add(titleComponent, BorderLayout.NORTH);
         JPanel p = new JPanel(new BorderLayout());
         p.setBorder(BorderFactory.createEmptyBorder(BORDER_WIDTH, BORDER_WIDTH, BORDER_WIDTH, BORDER_WIDTH));
@@ -158,15 +249,6 @@ public class Wizard extends JPanel {
         commandPanel.add(buttonBar, BorderLayout.CENTER);
         mainContainer.add(commandPanel, BorderLayout.SOUTH);
 
-        if (model instanceof OverviewProvider) {
-            p = new JPanel(new BorderLayout());
-            p.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createEmptyBorder(0, 0, 0, 2),
-                    BorderFactory.createEtchedBorder()));
-            p.add(((OverviewProvider) model).getOverviewComponent(), BorderLayout.CENTER);
-            overviewContainer.add(p, BorderLayout.WEST);
-        }
-
         add(mainContainer, BorderLayout.CENTER);
         add(overviewContainer, BorderLayout.WEST);
 
@@ -176,7 +258,90 @@ public class Wizard extends JPanel {
             setHelpBroker((HelpBroker) model);
         }
 
+        start = StartupTimeline.mark();
         this.model.reset();
+        StartupTimeline.record("reset", start);
+        StartupTimeline.record("wizard", wizardStart);
+    }
+
+    /**
+     * Prepares a wizard in the background, typically before the user has asked for
+     * it. This is equivalent to calling
+     * {@link #prepareAsync(Supplier, Executor) prepareAsync(modelSupplier,
+     * ForkJoinPool.commonPool())}.
+     *
+     * @param modelSupplier creates the model, this is called on a background
+     *                      thread.
+     * @return a future that completes, on the event dispatch thread, with a wizard
+     *         that is ready to display.
+     */
+    public static CompletableFuture<Wizard> prepareAsync(Supplier<WizardModel> modelSupplier) {
+        return prepareAsync(modelSupplier, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares a wizard in the background, typically before the user has asked for
+     * it. The model is created and the {@link LoadableStep#load data loading}
+     * phase of its steps is run on the executor. The remaining Swing work is then
+     * performed on the event dispatch thread in small slices, so the application
+     * stays responsive: the wizard is created with {@link #INIT_LAZY}, then each
+     * step is initialized in its own slice, and finally the wizard's size is
+     * calculated.
+     * <p>
+     * If the model or any step throws an exception, the future completes
+     * exceptionally.
+     *
+     * <pre>
+     *    CompletableFuture&lt;Wizard&gt; next = Wizard.prepareAsync(MyModel::new);
+     *    ...
+     *    next.thenAccept(wizard -&gt; wizard.showInDialog("My Wizard", parent, false));
+     * </pre>
+     *
+     * @param modelSupplier creates the model, this is called on a background
+     *                      thread.
+     * @param executor      the executor used to create the model and load the
+     *                      steps.
+     * @return a future that completes, on the event dispatch thread, with a wizard
+     *         that is ready to display.
+     */
+    public static CompletableFuture<Wizard> prepareAsync(Supplier<WizardModel> modelSupplier, Executor executor) {
+        CompletableFuture<Wizard> result = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(modelSupplier, executor)
+                .thenCompose(model -> {
+                    StepInitializer initializer = new StepInitializer(model);
+                    return initializer.loadAll(model.steps(), executor).thenApply(v -> initializer);
+                })
+                .whenComplete((initializer, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                    } else {
+                        SwingUtilities.invokeLater(() -> finishPreparing(initializer, result));
+                    }
+                });
+        return result;
+    }
+
+    private static void finishPreparing(StepInitializer initializer, CompletableFuture<Wizard> result) {
+        try {
+            Wizard wizard = new Wizard(initializer.getModel(), INIT_LAZY, null, initializer);
+            prepareNextSlice(wizard, wizard.getModel().steps().iterator(), result);
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static void prepareNextSlice(Wizard wizard, Iterator<WizardStep> steps, CompletableFuture<Wizard> result) {
+        try {
+            if (steps.hasNext()) {
+                wizard.prefetchStep(steps.next());
+                SwingUtilities.invokeLater(() -> prepareNextSlice(wizard, steps, result));
+            } else {
+                wizard.getPreferredSize();
+                result.complete(wizard);
+            }
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
     }
 
     /**
@@ -205,6 +370,43 @@ public class Wizard extends JPanel {
         return defaultExitMode;
     }
 
+    /**
+     * Gets the initialization mode of the wizard, being either {@link #INIT_EAGER}
+     * or {@link #INIT_LAZY}.
+     *
+     * @return the initialization mode.
+     */
+    public int getInitMode() {
+        return initMode;
+    }
+
+    /**
+     * Initializes the specified step ahead of it being displayed. This is only
+     * useful when the wizard is using {@link #INIT_LAZY}, for example to prepare
+     * the step the user is likely to visit next. Steps that have already been
+     * initialized are ignored.
+     *
+     * @param step the step to initialize.
+     */
+    public void prefetchStep(WizardStep step) {
+        initializeStep(step);
+    }
+
+    /**
+     * Checks if {@link WizardStep#init} has been invoked on the specified step.
+     *
+     * @param step the step to check.
+     * @return {@code true} if the step has been initialized, {@code false}
+     *         otherwise.
+     */
+    public boolean isStepInitialized(WizardStep step) {
+        return stepInitializer.isInitialized(step);
+    }
+
+    private void initializeStep(WizardStep step) {
+        stepInitializer.initialize(step);
+    }
+
     /**
      * Called by the constructor to create the wizards title component. The default
      * component will be an instance of {@link DefaultTitleComponent} but subclasses
@@ -264,6 +466,63 @@ public class Wizard extends JPanel {
         return model;
     }
 
+    /**
+     * Rebinds this wizard to a new model. The existing title component, button
+     * bar and actions are retained and only the model dependent state is rebuilt:
+     * listeners are moved from the old model to the new one, the steps of the new
+     * model are initialized according to the {@link #getInitMode initialization
+     * mode} and the wizard is {@link #reset}. This allows a wizard to be reused
+     * for many short lived sessions, see {@link WizardPool}. Setting the model the
+     * wizard already has just resets the wizard, so that it starts a new session.
+     * <p>
+     * This is a bound property. Custom title components that monitor the model
+     * should also listen for changes to the "model" property of the wizard.
+     *
+     * @param model the new model.
+     */
+    public void setModel(WizardModel model) {
+        if (model == null) {
+            throw new NullPointerException("models is null");
+        }
+        if (this.model == model) {
+            buttonBar.showCloseButton(false);
+            reset();
+            return;
+        }
+
+        WizardModel old = this.model;
+        old.removePropertyChangeListener(ModelProperty.ACTIVE_STEP, modelListener);
+        if (activeStep != null) {
+            activeStep.removePropertyChangeListener("view", viewListener);
+            activeStep = null;
+        }
+        viewPanel.removeAll();
+
+        this.model = model;
+        stepInitializer = new StepInitializer(model);
+        model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, modelListener);
+        firePropertyChange("model", old, model);
+
+        if (initMode == INIT_EAGER) {
+            for (WizardStep step : model.steps()) {
+                initializeStep(step);
+            }
+        }
+
+        configureOverviewContainer();
+        if (model instanceof HelpBroker) {
+            setHelpBroker((HelpBroker) model);
+        } else if (helpBroker == old) {
+            setHelpBroker(null);
+        }
+
+        preferredStepSize = null;
+        buttonBar.showCloseButton(false);
+        reset();
+        revalidate();
+        repaint();
+    }
+
     /**
      * Checks the visibily of the overview panel that is displayed on the wizards
      * left panel. The overview panel will only be displayed if this property is
@@ -287,11 +546,26 @@ public class Wizard extends JPanel {
             boolean old = this.overviewVisible;
             this.overviewVisible = overviewVisible;
             firePropertyChange("overviewVisible", old, overviewVisible);
-            configureOverviewContainer();
+            updateOverviewVisibility();
         }
     }
 
     private void configureOverviewContainer() {
+        overviewContainer.removeAll();
+        if (model instanceof OverviewProvider) {
+            long start = StartupTimeline.mark();
+            JPanel p = new JPanel(new BorderLayout());
+            p.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createEmptyBorder(0, 0, 0, 2),
+                    BorderFactory.createEtchedBorder()));
+            p.add(((OverviewProvider) model).getOverviewComponent(), BorderLayout.CENTER);
+            overviewContainer.add(p, BorderLayout.WEST);
+            StartupTimeline.record("overview", start);
+        }
+        updateOverviewVisibility();
+    }
+
+    private void updateOverviewVisibility() {
         overviewContainer.setVisible(overviewVisible && model instanceof OverviewProvider);
     }
 
@@ -305,6 +579,75 @@ public class Wizard extends JPanel {
         return helpBroker;
     }
 
+    /**
+     * Configures a cache of the steps' preferred sizes. When the wizard determines
+     * the size of its main area it uses the stored size of each step in preference
+     * to measuring it, and records the size of any step it does measure.
+     * <p>
+     * This must be called before the wizard is first laid out to have any effect.
+     *
+     * @param stepSizeCache the cache to use, or {@code null} to always measure
+     *                      the steps.
+     */
+    public void setStepSizeCache(StepSizeCache stepSizeCache) {
+        this.stepSizeCache = stepSizeCache;
+        preferredStepSize = null;
+        viewPanel.revalidate();
+    }
+
+    public StepSizeCache getStepSizeCache() {
+        return stepSizeCache;
+    }
+
+    /**
+     * Configures how the size of the wizard's main area is determined. The default
+     * is {@link StepSizePolicy#ALL_STEPS}.
+     * <p>
+     * This must be called before the wizard is first laid out to affect the
+     * initial size of the wizard.
+     *
+     * @param stepSizePolicy the policy to use.
+     */
+    public void setStepSizePolicy(StepSizePolicy stepSizePolicy) {
+        if (stepSizePolicy == null) {
+            throw new NullPointerException("stepSizePolicy is null");
+        }
+
+        this.stepSizePolicy = stepSizePolicy;
+        preferredStepSize = null;
+        viewPanel.revalidate();
+    }
+
+    public StepSizePolicy getStepSizePolicy() {
+        return stepSizePolicy;
+    }
+
+    /**
+     * Gets the preferred size of the specified step. This uses the
+     * {@link #setStepSizeCache step size cache} when one is configured, otherwise
+     * it delegates to {@link WizardStep#getPreferredSize}, first initializing the
+     * step if required so that it is measured with its full view. This is
+     * intended for use by {@link StepSizePolicy} implementations.
+     *
+     * @param step the step to measure.
+     * @return the preferred size of the step.
+     */
+    public Dimension measureStep(WizardStep step) {
+        Dimension d = stepSizeCache == null ? null : stepSizeCache.get(step);
+        if (d == null) {
+            initializeStep(step);
+            long start = StartupTimeline.mark();
+            d = step.getPreferredSize();
+            StartupTimeline.record("measure", step, start);
+
+            if (stepSizeCache != null) {
+                stepSizeCache.put(step, d);
+            }
+        }
+
+        return d;
+    }
+
     /**
      * Returns the action that is bound to the next button.
      */
@@ -441,10 +784,14 @@ public class Wizard extends JPanel {
         }
 
         activeStep = model.getActiveStep();
+        initializeStep(activeStep);
 
         activeStep.addPropertyChangeListener("view", viewListener);
 
+        long start = StartupTimeline.mark();
         activeStep.prepare();
+        StartupTimeline.record("prepare", activeStep, start);
+        updatePreferredStepSize();
         handleViewChange();
     }
 
@@ -458,22 +805,41 @@ public class Wizard extends JPanel {
         viewPanel.repaint();
     }
 
-    /**
-     * Caculates the preferred size of the main wizard area based on the
-     * {@link WizardStep#getPreferredSize} values of all the wizard steps.
-     */
-    private Dimension calculatePreferredStepSize() {
-        int w = 0;
-        int h = 0;
+    private Dimension getPreferredStepSize() {
+        if (preferredStepSize == null) {
+            long start = StartupTimeline.mark();
+            preferredStepSize = new Dimension(stepSizePolicy.getInitialSize(this));
+            StartupTimeline.record("stepSize", start);
+        }
 
-        for (WizardStep step : getModel().steps()) {
-            Dimension d = step.getPreferredSize();
+        return new Dimension(preferredStepSize);
+    }
 
-            w = Math.max(d.width, w);
-            h = Math.max(d.height, h);
+    /**
+     * Gives the {@link StepSizePolicy} the chance to grow the main wizard area when
+     * a step is activated. The window is enlarged if it can no longer fit the
+     * wizard, but it is never shrunk.
+     */
+    private void updatePreferredStepSize() {
+        if (preferredStepSize == null) {
+            // not yet laid out, the initial size will take the active step into account.
+            return;
         }
 
-        return new Dimension(w, h);
+        Dimension size = stepSizePolicy.getActivatedSize(this, activeStep, new Dimension(preferredStepSize));
+        if (!size.equals(preferredStepSize)) {
+            preferredStepSize = new Dimension(size);
+            viewPanel.revalidate();
+
+            Window window = SwingUtilities.getWindowAncestor(this);
+            if (window != null && window.isDisplayable()) {
+                Dimension required = window.getPreferredSize();
+                Dimension current = window.getSize();
+                if (required.width > current.width || required.height > current.height) {
+                    window.setSize(Math.max(required.width, current.width), Math.max(required.height, current.height));
+                }
+            }
+        }
     }
 
     private void fireWizardClosed() {
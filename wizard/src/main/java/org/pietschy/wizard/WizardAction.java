@@ -34,6 +34,7 @@ import javax.swing.JOptionPane;
 public abstract class WizardAction extends AbstractAction implements PropertyChangeListener {
     protected Wizard wizard;
     private WizardStep activeStep;
+    private final boolean coordinated;
 
     protected WizardAction(String key, Wizard wizard, Icon icon) {
         this(key, wizard);
@@ -41,16 +42,30 @@ public abstract class WizardAction extends AbstractAction implements PropertyCha
     }
 
     protected WizardAction(String key, Wizard wizard) {
+        this(key, wizard, false);
+    }
+
+    /**
+     * Creates an action whose state is optionally managed by the wizard's
+     * {@link ActionStateCoordinator} rather than by listening to the model.
+     */
+    WizardAction(String key, Wizard wizard, boolean coordinated) {
         super(I18n.getString(key + ".text"));
         this.wizard = wizard;
-        getModel().addPropertyChangeListener(this);
+        this.coordinated = coordinated;
+        putValue(Action.MNEMONIC_KEY, I18n.getMnemonic(key + ".mnemonic"));
+        if (coordinated) {
+            return;
+        }
+
+        wizard.addPropertyChangeListener("model",
+                evt -> modelChanged((WizardModel) evt.getOldValue(), (WizardModel) evt.getNewValue()));
+        addModelListener(getModel(), this);
         activeStep = getModel().getActiveStep();
         if (activeStep != null) {
             activeStep.addPropertyChangeListener(this);
         }
 
-        putValue(Action.MNEMONIC_KEY, I18n.getMnemonic(key + ".mnemonic"));
-
         updateState();
     }
 
@@ -63,11 +78,17 @@ public abstract class WizardAction extends AbstractAction implements PropertyCha
     }
 
     public WizardStep getActiveStep() {
-        return activeStep;
+        return coordinated ? getModel().getActiveStep() : activeStep;
     }
 
     @Override
     public final void actionPerformed(ActionEvent e) {
+        // bring a deferred model state up to date, which may disable this action.
+        getModel().flushModelState();
+        if (!isEnabled()) {
+            return;
+        }
+
         try {
             doAction(e);
         } catch (InvalidStateException ise) {
@@ -85,6 +106,67 @@ public abstract class WizardAction extends AbstractAction implements PropertyCha
 
     protected abstract void updateState();
 
+    /**
+     * Computes whether the action should be enabled. This is used by the
+     * {@link ActionStateCoordinator} for the wizard's own actions, which override
+     * it, and by their {@link #updateState} implementations.
+     *
+     * @param model      the wizard's model.
+     * @param activeStep the active step, or {@code null}.
+     * @param busy       {@code true} if the active step is busy.
+     * @return {@code true} if the action should be enabled.
+     */
+    boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+        return isEnabled();
+    }
+
+    /**
+     * Sets the enabled state from {@link #computeEnabled}.
+     */
+    void updateEnabled() {
+        WizardStep step = getActiveStep();
+        setEnabled(computeEnabled(getModel(), step, step != null && step.isBusy()));
+    }
+
+    private void modelChanged(WizardModel oldModel, WizardModel newModel) {
+        removeModelListener(oldModel, this);
+        if (activeStep != null) {
+            activeStep.removePropertyChangeListener(this);
+        }
+
+        addModelListener(newModel, this);
+        activeStep = newModel.getActiveStep();
+        if (activeStep != null) {
+            activeStep.addPropertyChangeListener(this);
+        }
+
+        updateState();
+    }
+
+    /**
+     * Adds a listener for changes that affect the state of actions. An
+     * {@link AbstractWizardModel} follows changes to its state with a single
+     * "modelState" event, so only that and the active step are required. Other
+     * models are listened to in full.
+     */
+    static void addModelListener(WizardModel model, PropertyChangeListener listener) {
+        if (model instanceof AbstractWizardModel) {
+            model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, listener);
+            model.addPropertyChangeListener(ModelProperty.MODEL_STATE, listener);
+        } else {
+            model.addPropertyChangeListener(listener);
+        }
+    }
+
+    static void removeModelListener(WizardModel model, PropertyChangeListener listener) {
+        if (model instanceof AbstractWizardModel) {
+            model.removePropertyChangeListener(ModelProperty.ACTIVE_STEP, listener);
+            model.removePropertyChangeListener(ModelProperty.MODEL_STATE, listener);
+        } else {
+            model.removePropertyChangeListener(listener);
+        }
+    }
+
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("activeStep")) {
@@ -97,5 +179,4 @@ public abstract class WizardAction extends AbstractAction implements PropertyCha
 
         updateState();
     }
-
 }
@@ -168,6 +168,29 @@ public interface WizardModel {
      */
     void removePropertyChangeListener(String propertyName, PropertyChangeListener listener);
 
+    /**
+     * Adds a {@link PropertyChangeListener} for a single property of this model.
+     * The default implementation registers the listener using the name of the
+     * property.
+     *
+     * @param property the property to listen to.
+     * @param listener the listener to add.
+     */
+    default void addPropertyChangeListener(ModelProperty property, PropertyChangeListener listener) {
+        addPropertyChangeListener(property.getPropertyName(), listener);
+    }
+
+    /**
+     * Removes a {@link PropertyChangeListener} added using
+     * {@link #addPropertyChangeListener(ModelProperty, PropertyChangeListener)}.
+     *
+     * @param property the property to stop listening to.
+     * @param listener the listener to remove.
+     */
+    default void removePropertyChangeListener(ModelProperty property, PropertyChangeListener listener) {
+        removePropertyChangeListener(property.getPropertyName(), listener);
+    }
+
     /**
      * Called to request the model to update it current state. This will be called
      * when ever a step transition occurs but may also be called by the current
@@ -175,6 +198,14 @@ public interface WizardModel {
      */
     void refreshModelState();
 
+    /**
+     * Performs any refresh of the model state that has been deferred, so the
+     * state is current before navigating. This is called by the wizard's actions
+     * before they are performed. The default implementation does nothing.
+     */
+    default void flushModelState() {
+    }
+
     default boolean isCancelAvailable() {
         return true;
     }
@@ -0,0 +1,124 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import java.awt.Container;
+import java.util.ArrayDeque;
+import java.util.function.Function;
+
+/**
+ * A small pool of {@link Wizard} instances that can be {@link Wizard#setModel
+ * rebound} to new models. Reusing a wizard avoids rebuilding its button bar,
+ * actions and title component for every session, which is noticeable for
+ * applications that open many short lived wizards.
+ *
+ * <pre>
+ *    Wizard wizard = pool.acquire(new MyModel());
+ *    wizard.addWizardListener(...);
+ *    wizard.showInDialog("My Wizard", parent, true);
+ *    pool.release(wizard);
+ * </pre>
+ *
+ * Pools are not thread safe and, like the wizards they hold, should only be used
+ * on the event dispatch thread.
+ */
+public class WizardPool {
+    private final ArrayDeque<Wizard> idle = new ArrayDeque<>();
+    private final int maxIdle;
+    private final Function<WizardModel, Wizard> factory;
+
+    /**
+     * Creates a pool that holds at most {@code maxIdle} idle wizards. New wizards
+     * are created using {@link Wizard#Wizard(WizardModel)}.
+     *
+     * @param maxIdle the maximum number of wizards to retain.
+     */
+    public WizardPool(int maxIdle) {
+        this(maxIdle, Wizard::new);
+    }
+
+    /**
+     * Creates a pool that holds at most {@code maxIdle} idle wizards, using the
+     * specified factory to create new wizards when the pool is empty.
+     *
+     * @param maxIdle the maximum number of wizards to retain.
+     * @param factory creates a wizard for a model.
+     */
+    public WizardPool(int maxIdle, Function<WizardModel, Wizard> factory) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle is negative: " + maxIdle);
+        }
+        if (factory == null) {
+            throw new NullPointerException("factory is null");
+        }
+
+        this.maxIdle = maxIdle;
+        this.factory = factory;
+    }
+
+    /**
+     * Gets a wizard for the specified model, reusing an idle wizard if one is
+     * available. The wizard is reset, even if it was last used with the same
+     * model.
+     *
+     * @param model the model the wizard will display.
+     * @return a wizard bound to the model and ready to display.
+     */
+    public Wizard acquire(WizardModel model) {
+        Wizard wizard = idle.poll();
+        if (wizard == null) {
+            return factory.apply(model);
+        }
+
+        wizard.setModel(model);
+        return wizard;
+    }
+
+    /**
+     * Returns a wizard to the pool once it is no longer displayed. The wizard is
+     * removed from its parent and all of its {@link WizardListener}s are removed.
+     * The wizard keeps a reference to its current model until it is next acquired.
+     *
+     * @param wizard the wizard to return.
+     */
+    public void release(Wizard wizard) {
+        Container parent = wizard.getParent();
+        if (parent != null) {
+            parent.remove(wizard);
+        }
+
+        for (WizardListener l : wizard.getListeners(WizardListener.class)) {
+            wizard.removeWizardListener(l);
+        }
+
+        if (idle.size() < maxIdle && !idle.contains(wizard)) {
+            idle.push(wizard);
+        }
+    }
+
+    /**
+     * Gets the number of idle wizards held by the pool.
+     *
+     * @return the number of wizards available for reuse.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+}
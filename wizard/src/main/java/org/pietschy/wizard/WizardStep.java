@@ -68,6 +68,11 @@ public interface WizardStep {
     /**
      * Checks if this step is compete. This method should return true if the wizard
      * can proceed to the next step.
+     * <p>
+     * Implementations must fire a property change event for the "complete"
+     * property whenever the value changes. Models based on
+     * {@link AbstractWizardModel} track completeness from these events rather
+     * than calling this method each time they refresh.
      *
      * @return {@code true} if the wizard can proceed from this step,
      *         {@code false} otherwise.
@@ -86,7 +91,8 @@ public interface WizardStep {
 
     /**
      * Called to initialize the step. This method will be called when the wizard is
-     * first initialising.
+     * first initialising, or just before the step is first displayed if the wizard
+     * was created with {@link Wizard#INIT_LAZY}. It is only ever called once.
      *
      * @param model the model to which the step belongs.
      */
@@ -133,7 +139,9 @@ public interface WizardStep {
     /**
      * This method must return the maximum preferred size of this wizard step. This
      * method will be called during wizard initialization to determine the correct
-     * size of the wizard. This method will be called after {@link #init}.
+     * size of the wizard. This method will be called after {@link #init}. With
+     * {@link Wizard#INIT_LAZY} it may be called when the step is first activated,
+     * rather than during initialization.
      *
      * @return the preferred size of this step.
      */
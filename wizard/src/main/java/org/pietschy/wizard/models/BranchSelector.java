@@ -0,0 +1,49 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import org.pietschy.wizard.WizardModel;
+
+/**
+ * Chooses the branch of a {@link BranchingPath} directly, as an alternative to
+ * evaluating the condition of each branch in turn. This suits paths with many
+ * branches where a single value determines the route, much like a
+ * {@code switch} statement.
+ *
+ * <pre>
+ * path.addBranch(emailPath);
+ * path.addBranch(smsPath);
+ * path.addBranch(postPath);
+ * path.setBranchSelector(model -&gt; ((MyModel) model).getContactMethod().ordinal());
+ * </pre>
+ *
+ * @see BranchingPath#setBranchSelector
+ */
+public interface BranchSelector {
+    /**
+     * Called to choose the branch to traverse after the steps of the
+     * {@link BranchingPath} have been completed.
+     *
+     * @param model the {@link WizardModel} the selector should use.
+     * @return the index of the branch in the order the branches were added, or a
+     *         negative value to evaluate the conditions of the branches instead.
+     */
+    int selectBranch(WizardModel model);
+}
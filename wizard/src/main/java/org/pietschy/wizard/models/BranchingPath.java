@@ -19,20 +19,29 @@
 
 package org.pietschy.wizard.models;
 
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.pietschy.wizard.WizardStep;
 
 /**
  * BranchingPaths represent a sequence of {@link WizardStep}s that has multiple
  * choices for the next path to traverse.
+ * <p>
+ * The next path is chosen by evaluating the condition of each branch in order
+ * of priority, and then in the order they were added, until one returns
+ * {@code true}. Alternatively a {@link BranchSelector} can choose the branch
+ * with a single evaluation.
  *
  * @see #addBranch
  * @see #addStep
+ * @see #setBranchSelector
  */
 public class BranchingPath extends Path {
-    private final HashMap<Condition, Path> paths = new HashMap<>();
+    private final ArrayList<Branch> branches = new ArrayList<>();
+    private final ArrayList<Branch> branchesAdded = new ArrayList<>();
+    private BranchSelector branchSelector;
 
     public BranchingPath() {
     }
@@ -43,10 +52,19 @@ public class BranchingPath extends Path {
 
     @Override
     protected Path getNextPath(MultiPathModel model) {
-        for (Entry<Condition, Path> entry : paths.entrySet()) {
-            Condition condition = entry.getKey();
-            if (condition.evaluate(model)) {
-                return entry.getValue();
+        if (branchSelector != null) {
+            int index = branchSelector.selectBranch(model);
+            if (index >= branchesAdded.size()) {
+                throw new IllegalStateException("No branch at index " + index);
+            }
+            if (index >= 0) {
+                return branchesAdded.get(index).path;
+            }
+        }
+
+        for (Branch branch : branches) {
+            if (branch.condition == null || branch.condition.evaluate(model)) {
+                return branch.path;
             }
         }
 
@@ -54,14 +72,96 @@ public class BranchingPath extends Path {
     }
 
     /**
-     * Adds a possible branch from this path.
+     * Adds a possible branch from this path. Adding a branch with a condition that
+     * has already been added replaces the path of the existing branch.
      *
      * @param path      the {@link Path} to traverse based when the condition
      *                  returns {@code true}.
      * @param condition a {@link Condition} that activates this path.
      */
     public void addBranch(Path path, Condition condition) {
-        paths.put(condition, path);
+        addBranch(path, condition, 0);
+    }
+
+    /**
+     * Adds a possible branch from this path. Branches with a higher priority are
+     * evaluated first, and the first branch whose condition returns {@code true}
+     * is taken. Adding a branch with a condition that has already been added
+     * replaces the path and priority of the existing branch.
+     *
+     * @param path      the {@link Path} to traverse based when the condition
+     *                  returns {@code true}.
+     * @param condition a {@link Condition} that activates this path.
+     * @param priority  the priority of the branch.
+     */
+    public void addBranch(Path path, Condition condition, int priority) {
+        if (condition == null) {
+            throw new NullPointerException("condition is null");
+        }
+
+        for (Branch branch : branchesAdded) {
+            if (condition.equals(branch.condition)) {
+                branches.remove(branch);
+                branch.path = path;
+                branch.priority = priority;
+                insert(branch);
+                return;
+            }
+        }
+
+        Branch branch = new Branch(path, condition, priority);
+        branchesAdded.add(branch);
+        insert(branch);
+    }
+
+    /**
+     * Adds a branch without a condition. The branch is taken if it is chosen by
+     * the {@link #setBranchSelector branch selector}, or if none of the
+     * conditions match when the branches are evaluated.
+     *
+     * @param path the {@link Path} to traverse.
+     */
+    public void addBranch(Path path) {
+        Branch branch = new Branch(path, null, Integer.MIN_VALUE);
+        branchesAdded.add(branch);
+        insert(branch);
+    }
+
+    private void insert(Branch branch) {
+        int index = branches.size();
+        while (index > 0 && branches.get(index - 1).priority < branch.priority) {
+            index--;
+        }
+        branches.add(index, branch);
+    }
+
+    /**
+     * Sets the selector used to choose the next path. Its result is the index of
+     * a branch in the order the branches were added.
+     *
+     * @param branchSelector the selector, or {@code null} to evaluate the
+     *                       conditions of the branches.
+     */
+    public void setBranchSelector(BranchSelector branchSelector) {
+        this.branchSelector = branchSelector;
+    }
+
+    public BranchSelector getBranchSelector() {
+        return branchSelector;
+    }
+
+    /**
+     * Gets the branches in the order they are evaluated.
+     */
+    List<Branch> getBranches() {
+        return Collections.unmodifiableList(branches);
+    }
+
+    /**
+     * Gets the branches in the order they were added.
+     */
+    List<Branch> getBranchesAdded() {
+        return Collections.unmodifiableList(branchesAdded);
     }
 
     @Override
@@ -70,8 +170,20 @@ public class BranchingPath extends Path {
     }
 
     public void visitBranches(PathVisitor visitor) {
-        for (Path path : paths.values()) {
-            path.acceptVisitor(visitor);
+        for (Branch branch : branches) {
+            branch.path.acceptVisitor(visitor);
+        }
+    }
+
+    static final class Branch {
+        final Condition condition;
+        Path path;
+        int priority;
+
+        Branch(Path path, Condition condition, int priority) {
+            this.path = path;
+            this.condition = condition;
+            this.priority = priority;
         }
     }
 }
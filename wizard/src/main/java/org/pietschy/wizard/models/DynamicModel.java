@@ -20,9 +20,12 @@
 package org.pietschy.wizard.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
 
 import org.pietschy.wizard.AbstractWizardModel;
 import org.pietschy.wizard.WizardStep;
@@ -55,6 +58,13 @@ import org.pietschy.wizard.WizardStep;
  * It is also worth noting that steps that implement {@link Condition} can be
  * added using the basic {@link #add(WizardStep)} and the model will
  * automatically add them as an optional step.
+ * <p>
+ * Each condition is evaluated at most once while navigating or refreshing the
+ * model state. Models whose conditions are expensive can call
+ * {@link #setConditionCaching setConditionCaching(true)} to keep the results
+ * until they are invalidated, either by calling {@link #invalidateConditions}
+ * or automatically by declaring the step properties they depend on with
+ * {@link #addConditionDependency}.
  *
  * @see #add(WizardStep)
  * @see #add(WizardStep, Condition)
@@ -66,8 +76,21 @@ public class DynamicModel extends AbstractWizardModel {
 
     private final ArrayList<WizardStep> steps = new ArrayList<>();
     private final ArrayList<Condition> conditions = new ArrayList<>();
+    private final StepIndex stepIndex = new StepIndex(steps);
 
-    private final Stack<WizardStep> history = new Stack<>();
+    private final StepHistory history = new StepHistory();
+
+    private final IdentityHashMap<Condition, Boolean> conditionResults = new IdentityHashMap<>();
+    private final IdentityHashMap<Condition, BitSet> conditionSteps = new IdentityHashMap<>();
+    private final BitSet visibleSteps = new BitSet();
+    private final BitSet staleSteps = new BitSet();
+    private int lastVisible = -1;
+    private int[] route;
+    private int routeOffset;
+    private boolean conditionCaching = false;
+    private long conditionEvaluationCount;
+    private long conditionCacheHitCount;
+    private int refreshDepth;
 
     public DynamicModel() {
     }
@@ -105,36 +128,183 @@ public class DynamicModel extends AbstractWizardModel {
         addCompleteListener(step);
         steps.add(step);
         conditions.add(condition);
+        stepIndex.added(step);
+
+        int index = steps.size() - 1;
+        conditionSteps.computeIfAbsent(condition, c -> new BitSet()).set(index);
+        staleSteps.set(index);
+    }
+
+    /**
+     * Configures whether the results of the conditions are kept until they are
+     * invalidated. When disabled (the default) the conditions are evaluated afresh
+     * each time the model navigates or refreshes its state.
+     *
+     * @param conditionCaching {@code true} to keep the results of the conditions
+     *                         until they are invalidated.
+     * @see #invalidateConditions()
+     * @see #addConditionDependency
+     */
+    public void setConditionCaching(boolean conditionCaching) {
+        this.conditionCaching = conditionCaching;
+        invalidateConditions();
+    }
+
+    public boolean isConditionCaching() {
+        return conditionCaching;
+    }
+
+    /**
+     * Discards the results of all the conditions so they will be evaluated
+     * again when next required. Callers will typically follow this with a call
+     * to {@link #refreshModelState}.
+     */
+    public void invalidateConditions() {
+        conditionResults.clear();
+        staleSteps.set(0, steps.size());
+    }
+
+    /**
+     * Discards the results of the specified conditions so they will be evaluated
+     * again when next required.
+     *
+     * @param conditions the conditions to invalidate.
+     */
+    public void invalidateConditions(Condition... conditions) {
+        for (Condition condition : conditions) {
+            conditionResults.remove(condition);
+
+            BitSet dependents = conditionSteps.get(condition);
+            if (dependents != null) {
+                staleSteps.or(dependents);
+            }
+        }
+    }
+
+    /**
+     * Declares that the result of a condition depends on a property of a step.
+     * Changes to the property will invalidate the condition and refresh the
+     * model state.
+     *
+     * @param condition    the condition that depends on the property.
+     * @param step         the step to monitor.
+     * @param propertyName the name of the property.
+     */
+    public void addConditionDependency(Condition condition, WizardStep step, String propertyName) {
+        if (condition == null) {
+            throw new NullPointerException("condition is null");
+        }
+
+        step.addPropertyChangeListener(propertyName, evt -> {
+            invalidateConditions(condition);
+            if (getActiveStep() != null) {
+                refreshModelState();
+            }
+        });
+    }
+
+    /**
+     * Gets the number of times a {@link Condition} has been evaluated by this
+     * model.
+     */
+    public long getConditionEvaluationCount() {
+        return conditionEvaluationCount;
+    }
+
+    /**
+     * Gets the number of times the result of a {@link Condition} was required
+     * and a previous result was used rather than evaluating it again.
+     */
+    public long getConditionCacheHitCount() {
+        return conditionCacheHitCount;
+    }
+
+    /**
+     * Evaluates the condition, or returns its previous result if it hasn't been
+     * invalidated.
+     */
+    private boolean evaluate(Condition condition) {
+        Boolean result = conditionResults.get(condition);
+        if (result != null) {
+            conditionCacheHitCount++;
+            return result;
+        }
+
+        boolean value = condition.evaluate(this);
+        conditionEvaluationCount++;
+        conditionResults.put(condition, value);
+        return value;
+    }
+
+    /**
+     * Called before answering a query from outside the model, so that conditions
+     * are evaluated afresh unless caching is enabled. Queries made while
+     * refreshing the model state share the same results.
+     */
+    private void startEvaluation() {
+        if (!conditionCaching && refreshDepth == 0) {
+            invalidateConditions();
+        }
+    }
+
+    /**
+     * Checks if the step at the specified index is visible, evaluating its
+     * condition if its previous result has been invalidated.
+     */
+    private boolean isVisible(int index) {
+        if (staleSteps.get(index)) {
+            updateVisibility(index);
+        } else {
+            conditionCacheHitCount++;
+        }
+        return visibleSteps.get(index);
+    }
+
+    private void updateVisibility(int index) {
+        boolean visible = evaluate(conditions.get(index));
+        staleSteps.clear(index);
+        if (visibleSteps.get(index) != visible) {
+            visibleSteps.set(index, visible);
+            route = null;
+            if (index >= lastVisible) {
+                lastVisible = -1;
+            }
+        }
     }
 
     @Override
     public void nextStep() {
+        startEvaluation();
         WizardStep currentStep = getActiveStep();
-        history.push(currentStep);
+        history.push(stepIndex.indexOf(currentStep));
         setActiveStep(findNextVisibleStep(currentStep));
     }
 
     @Override
     public void previousStep() {
-        WizardStep step = history.pop();
+        WizardStep step = steps.get(history.pop());
         setActiveStep(step);
     }
 
     @Override
     public void lastStep() {
+        startEvaluation();
         WizardStep activeStep = getActiveStep();
-        history.push(activeStep);
+        history.push(stepIndex.indexOf(activeStep));
         setActiveStep(findLastStep());
     }
 
     @Override
     public void reset() {
+        recheckCompleteSteps();
         history.clear();
+        startEvaluation();
         setActiveStep(findNextVisibleStep(null));
     }
 
     @Override
     public boolean isLastStep(WizardStep step) {
+        startEvaluation();
         return findLastStep().equals(step);
     }
 
@@ -149,11 +319,19 @@ public class DynamicModel extends AbstractWizardModel {
      */
     @Override
     public void refreshModelState() {
-        WizardStep activeStep = getActiveStep();
-        setNextAvailable(activeStep != null && activeStep.isComplete() && !isLastStep(activeStep));
-        setPreviousAvailable(activeStep != null && !history.isEmpty());
-        setLastAvailable(activeStep != null && allStepsComplete() && !isLastStep(activeStep));
-        setCancelAvailable(true);
+        startEvaluation();
+        refreshDepth++;
+        beginUpdate();
+        try {
+            WizardStep activeStep = getActiveStep();
+            setNextAvailable(activeStep != null && activeStep.isComplete() && !isLastStep(activeStep));
+            setPreviousAvailable(activeStep != null && !history.isEmpty());
+            setLastAvailable(activeStep != null && allStepsComplete() && !isLastStep(activeStep));
+            setCancelAvailable(true);
+        } finally {
+            commitUpdate();
+            refreshDepth--;
+        }
     }
 
     /**
@@ -168,19 +346,205 @@ public class DynamicModel extends AbstractWizardModel {
      *         {@code false} otherwise.
      */
     public boolean allStepsComplete() {
-        for (int i = 0; i < steps.size(); i++) {
-            WizardStep step = steps.get(i);
-            Condition condition = conditions.get(i);
+        startEvaluation();
+        for (WizardStep step : getIncompleteSteps()) {
+            if (isVisible(stepIndex.indexOf(step))) {
+                return false;
+            }
+        }
 
-            if (condition.evaluate(this)) {
-                if (!step.isComplete()) {
-                    return false;
-                }
+        return true;
+    }
+
+    /**
+     * Gets the steps the wizard is expected to traverse from the active step to
+     * the end, which are the active step followed by the visible steps after it.
+     * The route is kept as the active step moves along it, until the visibility
+     * of a step changes.
+     *
+     * @return an unmodifiable list starting with the active step, or an empty
+     *         list if there is no active step.
+     */
+    public List<WizardStep> getProjectedRoute() {
+        startEvaluation();
+        updateRoute();
+        if (route == null) {
+            return Collections.emptyList();
+        }
+        return new StepIdList(route, routeOffset, steps::get);
+    }
+
+    /**
+     * Gets the steps in the navigation history, oldest first.
+     *
+     * @return an unmodifiable snapshot of the history.
+     */
+    public List<WizardStep> getHistory() {
+        return new StepIdList(history.toArray(), 0, steps::get);
+    }
+
+    /**
+     * Sets the maximum number of steps kept in the navigation history, or zero
+     * for no limit (the default). When the limit is reached the oldest steps are
+     * discarded, and the user can no longer go back to them.
+     *
+     * @param limit the maximum number of steps in the history.
+     */
+    public void setHistoryLimit(int limit) {
+        history.setLimit(limit);
+        if (getActiveStep() != null) {
+            refreshModelState();
+        }
+    }
+
+    public int getHistoryLimit() {
+        return history.getLimit();
+    }
+
+    /**
+     * Configures whether moving to a step that is already in the navigation
+     * history discards the entries after it, so that the history of a wizard
+     * that loops back on itself doesn't keep growing. The default is
+     * {@code false}.
+     *
+     * @param compactHistoryCycles {@code true} to discard cycles from the
+     *                             history.
+     */
+    public void setCompactHistoryCycles(boolean compactHistoryCycles) {
+        history.setCompactCycles(compactHistoryCycles);
+    }
+
+    public boolean isCompactHistoryCycles() {
+        return history.isCompactCycles();
+    }
+
+    /**
+     * Gets the number of steps expected to follow the active step.
+     *
+     * @see #getProjectedRoute
+     */
+    public int getRemainingStepCount() {
+        startEvaluation();
+        updateRoute();
+        return route == null ? 0 : route.length - routeOffset - 1;
+    }
+
+    private void updateRoute() {
+        WizardStep activeStep = getActiveStep();
+        if (activeStep == null) {
+            route = null;
+            return;
+        }
+
+        int index = stepIndex.indexOf(activeStep);
+        for (int i = staleSteps.nextSetBit(index + 1); i >= 0; i = staleSteps.nextSetBit(i + 1)) {
+            updateVisibility(i);
+        }
+
+        if (route != null) {
+            int offset = Arrays.binarySearch(route, index);
+            if (offset >= 0) {
+                routeOffset = offset;
+                return;
             }
+        }
 
+        route = new int[1 + visibleSteps.get(index + 1, steps.size()).cardinality()];
+        route[0] = index;
+        int length = 1;
+        for (int i = visibleSteps.nextSetBit(index + 1); i >= 0; i = visibleSteps.nextSetBit(i + 1)) {
+            route[length++] = i;
         }
+        routeOffset = 0;
+    }
 
-        return true;
+    /**
+     * Checks if the wizard can jump directly to the specified step. Jumps are
+     * allowed back to any step in the history, and forward to any step on the
+     * {@link #getProjectedRoute projected route} provided the steps before it are
+     * complete.
+     * <p>
+     * Unless {@link #setConditionCaching condition caching} is enabled, checking
+     * a forward jump evaluates the conditions afresh and projects the route
+     * again. Callers that check many steps, such as an overview responding to
+     * mouse movement, should enable caching if the conditions are expensive.
+     *
+     * @param step the step to check.
+     * @return {@code true} if {@link #jumpToStep} may be called for the step.
+     */
+    public boolean isJumpAllowed(WizardStep step) {
+        WizardStep activeStep = getActiveStep();
+        if (activeStep == null || step == activeStep) {
+            return false;
+        }
+
+        int index = stepIndex.indexOf(step);
+        return index >= 0 && (history.contains(index) || findForwardJump(index) >= 0);
+    }
+
+    /**
+     * Makes the specified step active without activating the steps between. A
+     * jump back removes the steps after the target from the history, and a jump
+     * forward adds the skipped steps to the history so that
+     * {@link #previousStep} still returns through them.
+     *
+     * @param step the step to jump to.
+     * @throws IllegalStateException if the jump isn't allowed.
+     * @see #isJumpAllowed
+     */
+    public void jumpToStep(WizardStep step) {
+        int index = stepIndex.indexOf(step);
+        if (index < 0) {
+            throw new IllegalStateException("Unknown step");
+        }
+
+        if (step != getActiveStep() && history.contains(index)) {
+            while (history.pop() != index) {
+                // discard the steps after the target
+            }
+            setActiveStep(step);
+            return;
+        }
+
+        int position = findForwardJump(index);
+        if (step == getActiveStep() || position < 0) {
+            throw new IllegalStateException("Jump not allowed");
+        }
+
+        for (int i = routeOffset; i < position; i++) {
+            history.push(route[i]);
+        }
+        routeOffset = position;
+        setActiveStep(step);
+    }
+
+    /**
+     * Finds the position of a step on the projected route that can be reached by
+     * a forward jump, which requires the active step and the visible steps before
+     * the target to be complete.
+     *
+     * @return the position on the route, or -1 if the jump isn't allowed.
+     */
+    private int findForwardJump(int index) {
+        startEvaluation();
+        updateRoute();
+        if (route == null) {
+            return -1;
+        }
+
+        int position = Arrays.binarySearch(route, routeOffset + 1, route.length, index);
+        if (position < 0) {
+            return -1;
+        }
+
+        int active = route[routeOffset];
+        for (WizardStep step : getIncompleteSteps()) {
+            int i = stepIndex.indexOf(step);
+            if (i >= active && i < index && (i == active || isVisible(i))) {
+                return -1;
+            }
+        }
+        return position;
     }
 
     @Override
@@ -193,27 +557,51 @@ public class DynamicModel extends AbstractWizardModel {
         return new ArrayList<>(steps);
     }
 
+    /**
+     * Finds the next visible step. Only the conditions of steps that have been
+     * invalidated are evaluated, up to the first visible step.
+     */
     private WizardStep findNextVisibleStep(WizardStep currentStep) {
-        int startIndex = (currentStep == null) ? 0 : steps.indexOf(currentStep) + 1;
+        int i = (currentStep == null) ? 0 : stepIndex.indexOf(currentStep) + 1;
 
-        for (int i = startIndex; i < conditions.size(); i++) {
-            Condition condition = conditions.get(i);
-            if (condition.evaluate(this)) {
-                return steps.get(i);
+        while (true) {
+            int visible = visibleSteps.nextSetBit(i);
+            int stale = staleSteps.nextSetBit(i);
+            if (stale < 0 || (visible >= 0 && visible < stale)) {
+                if (visible < 0) {
+                    throw new IllegalStateException("Wizard contains no more visible steps");
+                }
+                return steps.get(visible);
             }
-        }
 
-        throw new IllegalStateException("Wizard contains no more visible steps");
+            updateVisibility(stale);
+            i = stale;
+        }
     }
 
+    /**
+     * Finds the last visible step. The result is kept until the visibility of a
+     * step changes.
+     */
     private WizardStep findLastStep() {
-        for (int i = conditions.size() - 1; i >= 0; i--) {
-            Condition condition = conditions.get(i);
-            if (condition.evaluate(this)) {
-                return steps.get(i);
+        if (lastVisible < 0 || staleSteps.length() > lastVisible) {
+            int i = steps.size() - 1;
+            while (true) {
+                int visible = visibleSteps.previousSetBit(i);
+                int stale = staleSteps.previousSetBit(i);
+                if (stale < 0 || visible > stale) {
+                    if (visible < 0) {
+                        throw new IllegalStateException("Wizard contains no visible steps");
+                    }
+                    lastVisible = visible;
+                    break;
+                }
+
+                updateVisibility(stale);
+                i = stale;
             }
         }
 
-        throw new IllegalStateException("Wizard contains no visible steps");
+        return steps.get(lastVisible);
     }
 }
@@ -19,12 +19,11 @@
 
 package org.pietschy.wizard.models;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Stack;
+import java.util.Set;
 
 import org.pietschy.wizard.AbstractWizardModel;
 import org.pietschy.wizard.WizardStep;
@@ -79,13 +78,27 @@ import org.pietschy.wizard.WizardStep;
  * reachable from the {@link #getFirstPath firstPath} and for whom
  * {@link SimplePath#getNextPath} returns null. If no matching path is found or
  * more than one is found the model will throw an exception.
+ * <p>
+ * The branch conditions are evaluated afresh each time the model needs the
+ * projected route. Models whose conditions are expensive can call
+ * {@link #setRouteCaching setRouteCaching(true)} to keep the route until it is
+ * invalidated, either by calling {@link #invalidateRoute} or automatically by
+ * declaring the step properties the conditions depend on with
+ * {@link #addRouteDependency}.
  */
 public class MultiPathModel extends AbstractWizardModel {
-    private final Path firstPath;
-    private final Path lastPath;
-    private final Map<WizardStep, Path> pathMapping;
+    private final PathGraph graph;
 
-    private final Stack<WizardStep> history = new Stack<>();
+    private final StepHistory history = new StepHistory();
+
+    private int[] route;
+    private int routeOffset;
+    private boolean routeFixed;
+    private int[] routePositions;
+    private int[] positionedRoute;
+    private boolean routeCaching = false;
+
+    private boolean reachableStepsOnly = false;
 
     /**
      * Creates a new MultiPathModel. The paths must be full constructed and linked
@@ -102,179 +115,431 @@ public class MultiPathModel extends AbstractWizardModel {
      *                  this constructor is called.
      */
     public MultiPathModel(Path firstPath) {
-        this.firstPath = firstPath;
-
-        PathMapVisitor visitor = new PathMapVisitor();
-        firstPath.acceptVisitor(visitor);
-        pathMapping = visitor.getMap();
-
-        LastPathVisitor v = new LastPathVisitor();
-        firstPath.acceptVisitor(v);
-        lastPath = v.getPath();
+        this(PathGraph.compile(firstPath));
+    }
 
-        if (lastPath == null) {
-            throw new IllegalStateException("Unable to locate last path");
+    /**
+     * Creates a new MultiPathModel from a compiled graph of paths. The same graph
+     * may be used to create any number of models.
+     *
+     * @param graph the compiled paths.
+     * @see PathGraph#compile
+     */
+    public MultiPathModel(PathGraph graph) {
+        if (graph == null) {
+            throw new NullPointerException("graph is null");
         }
 
-        for (WizardStep step : pathMapping.keySet()) {
+        this.graph = graph;
+
+        for (WizardStep step : graph.getSteps()) {
             addCompleteListener(step);
         }
     }
 
     public Path getFirstPath() {
-        return firstPath;
+        return graph.getFirstPath();
     }
 
     public Path getLastPath() {
-        return lastPath;
+        return graph.getLastPath();
+    }
+
+    /**
+     * Gets the compiled paths used by this model.
+     */
+    public PathGraph getPathGraph() {
+        return graph;
     }
 
     @Override
     public void nextStep() {
-        WizardStep currentStep = getActiveStep();
-        Path currentPath = getPathForStep(currentStep);
-
-        if (currentPath.isLastStep(currentStep)) {
-            Path nextPath = currentPath.getNextPath(this);
-            setActiveStep(nextPath.firstStep());
-        } else {
-            setActiveStep(currentPath.nextStep(currentStep));
-        }
-
-        history.push(currentStep);
+        int currentId = graph.getStepId(getActiveStep());
+        int id = graph.getNextStepId(currentId, this);
+        history.push(currentId);
+        setActiveStep(graph.getStep(id));
     }
 
     @Override
     public void previousStep() {
-        WizardStep step = history.pop();
+        WizardStep step = graph.getStep(history.pop());
         setActiveStep(step);
     }
 
     @Override
     public void lastStep() {
-        history.push(getActiveStep());
-        WizardStep lastStep = getLastPath().lastStep();
+        history.push(graph.getStepId(getActiveStep()));
+        WizardStep lastStep = graph.getStep(graph.getLastStepId());
         setActiveStep(lastStep);
     }
 
     @Override
     public void reset() {
+        recheckCompleteSteps();
         history.clear();
-        WizardStep firstStep = firstPath.firstStep();
+        invalidateRoute();
+        WizardStep firstStep = graph.getStep(graph.getFirstStepId());
         setActiveStep(firstStep);
-        history.push(firstStep);
     }
 
     @Override
     public boolean isLastStep(WizardStep step) {
-        Path path = getPathForStep(step);
-        return path.equals(getLastPath()) && path.isLastStep(step);
+        return graph.getStepId(step) == graph.getLastStepId();
     }
 
     @Override
     public void refreshModelState() {
         WizardStep activeStep = getActiveStep();
-        Path activePath = getPathForStep(activeStep);
 
-        setNextAvailable(activeStep.isComplete() && !isLastStep(activeStep));
-        setPreviousAvailable(!(activePath.equals(firstPath) && activePath.isFirstStep(activeStep)));
-        setLastAvailable(allStepsComplete() && !isLastStep(activeStep));
-        setCancelAvailable(true);
+        beginUpdate();
+        try {
+            setNextAvailable(activeStep.isComplete() && !isLastStep(activeStep));
+            setPreviousAvailable(!history.isEmpty());
+            setLastAvailable(allStepsComplete() && !isLastStep(activeStep));
+            setCancelAvailable(true);
+        } finally {
+            commitUpdate();
+        }
     }
 
     /**
-     * Returns true if all the steps in the wizard return {@code true} from
-     * {@link WizardStep#isComplete}. This is primarily used to determine if the
-     * last button can be enabled.
+     * Gets the steps the wizard is expected to traverse from the active step to
+     * the end, based on the current results of the branch conditions. A route
+     * through linked {@link SimplePath SimplePaths} only is kept as the active
+     * step moves along it. A route that passes through a {@link BranchingPath},
+     * or a path that overrides {@link Path#getNextPath}, is projected again on
+     * each call since the conditions may have changed, unless
+     * {@link #setRouteCaching route caching} is enabled.
      *
-     * @return {@code true} if all the steps in the wizard are complete,
-     *         {@code false} otherwise.
+     * @return an unmodifiable list starting with the active step, or an empty
+     *         list if there is no active step.
      */
-    public boolean allStepsComplete() {
-        for (WizardStep step : steps()) {
-            if (!step.isComplete()) {
-                return false;
-            }
+    public List<WizardStep> getProjectedRoute() {
+        updateRoute();
+        if (route == null) {
+            return Collections.emptyList();
         }
+        return new StepIdList(route, routeOffset, graph::getStep);
+    }
 
-        return true;
+    /**
+     * Gets the steps in the navigation history, oldest first.
+     *
+     * @return an unmodifiable snapshot of the history.
+     */
+    public List<WizardStep> getHistory() {
+        return new StepIdList(history.toArray(), 0, graph::getStep);
     }
 
-    @Override
-    public Iterator<WizardStep> stepIterator() {
-        return steps().iterator();
+    /**
+     * Sets the maximum number of steps kept in the navigation history, or zero
+     * for no limit (the default). When the limit is reached the oldest steps are
+     * discarded, and the user can no longer go back to them.
+     *
+     * @param limit the maximum number of steps in the history.
+     */
+    public void setHistoryLimit(int limit) {
+        history.setLimit(limit);
+        if (getActiveStep() != null) {
+            refreshModelState();
+        }
     }
 
-    @Override
-    public List<WizardStep> steps() {
-        return new ArrayList<>(pathMapping.keySet());
+    public int getHistoryLimit() {
+        return history.getLimit();
     }
 
-    protected Path getPathForStep(WizardStep step) {
-        return pathMapping.get(step);
+    /**
+     * Configures whether moving to a step that is already in the navigation
+     * history discards the entries after it, so that the history of a wizard
+     * that loops back on itself doesn't keep growing. The default is
+     * {@code false}.
+     *
+     * @param compactHistoryCycles {@code true} to discard cycles from the
+     *                             history.
+     */
+    public void setCompactHistoryCycles(boolean compactHistoryCycles) {
+        history.setCompactCycles(compactHistoryCycles);
+    }
+
+    public boolean isCompactHistoryCycles() {
+        return history.isCompactCycles();
+    }
+
+    /**
+     * Gets the number of steps expected to follow the active step.
+     *
+     * @see #getProjectedRoute
+     */
+    public int getRemainingStepCount() {
+        updateRoute();
+        return route == null ? 0 : route.length - routeOffset - 1;
+    }
+
+    /**
+     * Discards the projected route so that it is recalculated when next
+     * required. Callers will typically follow this with a call to
+     * {@link #refreshModelState}.
+     */
+    public void invalidateRoute() {
+        route = null;
+    }
+
+    /**
+     * Configures whether a projected route that depends on branch conditions is
+     * kept until it is invalidated. When disabled (the default) such a route is
+     * projected again, evaluating the conditions, each time the model needs it.
+     *
+     * @param routeCaching {@code true} to keep the projected route until it is
+     *                     invalidated.
+     * @see #invalidateRoute()
+     * @see #addRouteDependency
+     */
+    public void setRouteCaching(boolean routeCaching) {
+        this.routeCaching = routeCaching;
+        invalidateRoute();
+    }
+
+    public boolean isRouteCaching() {
+        return routeCaching;
+    }
+
+    /**
+     * Declares that the result of a branch condition depends on a property of a
+     * step. Changes to the property will invalidate the projected route and
+     * refresh the model state.
+     *
+     * @param step         the step to monitor.
+     * @param propertyName the name of the property.
+     */
+    public void addRouteDependency(WizardStep step, String propertyName) {
+        if (step == null) {
+            throw new NullPointerException("step is null");
+        }
+
+        step.addPropertyChangeListener(propertyName, evt -> {
+            invalidateRoute();
+            if (getActiveStep() != null) {
+                refreshModelState();
+            }
+        });
+    }
+
+    /**
+     * Configures whether {@link #allStepsComplete} only considers the steps that
+     * can still be reached. When enabled, steps on branches that the current
+     * conditions won't lead to are ignored, so the last button can be enabled on
+     * branched wizards. The default is {@code false}.
+     *
+     * @param reachableStepsOnly {@code true} to only require the steps in the
+     *                           history and on the
+     *                           {@link #getProjectedRoute projected route} to be
+     *                           complete.
+     */
+    public void setReachableStepsOnly(boolean reachableStepsOnly) {
+        if (this.reachableStepsOnly != reachableStepsOnly) {
+            this.reachableStepsOnly = reachableStepsOnly;
+            if (getActiveStep() != null) {
+                refreshModelState();
+            }
+        }
     }
 
-    private static class LastPathVisitor extends AbstractPathVisitor {
-        private Path last;
+    public boolean isReachableStepsOnly() {
+        return reachableStepsOnly;
+    }
 
-        @Override
-        public void visitPath(SimplePath p) {
-            if (enter(p)) {
-                if (p.getNextPath() == null) {
-                    if (this.last != null) {
-                        throw new IllegalStateException("Two paths have empty values for nextPath");
-                    }
+    private void updateRoute() {
+        WizardStep activeStep = getActiveStep();
+        if (activeStep == null) {
+            route = null;
+            return;
+        }
 
-                    this.last = p;
-                } else {
-                    p.visitNextPath(this);
+        int id = graph.getStepId(activeStep);
+        if (route != null && (routeFixed || routeCaching)) {
+            for (int offset = routeOffset - 1; offset <= routeOffset + 1; offset++) {
+                if (offset >= 0 && offset < route.length && route[offset] == id) {
+                    routeOffset = offset;
+                    return;
                 }
             }
         }
 
-        @Override
-        public void visitPath(BranchingPath path) {
-            if (enter(path)) {
-                path.visitBranches(this);
+        route = graph.projectRoute(id, this);
+        routeFixed = graph.isFixedRoute(route);
+        routeOffset = 0;
+    }
+
+    /**
+     * Checks if the wizard can jump directly to the specified step. Jumps are
+     * allowed back to any step in the history, and forward to any step on the
+     * {@link #getProjectedRoute projected route} provided the steps before it are
+     * complete. The route is projected with the current results of the branch
+     * conditions, unless {@link #setRouteCaching route caching} is enabled.
+     * Callers that check many steps, such as an overview responding to mouse
+     * movement, should enable caching if the conditions are expensive.
+     *
+     * @param step the step to check.
+     * @return {@code true} if {@link #jumpToStep} may be called for the step.
+     */
+    public boolean isJumpAllowed(WizardStep step) {
+        WizardStep activeStep = getActiveStep();
+        if (activeStep == null || step == activeStep) {
+            return false;
+        }
+
+        int id = graph.getStepId(step);
+        return id >= 0 && (history.contains(id) || findForwardJump(id) >= 0);
+    }
+
+    /**
+     * Makes the specified step active without activating the steps between. A
+     * jump back removes the steps after the target from the history, and a jump
+     * forward adds the skipped steps, as projected with the current results of
+     * the branch conditions, to the history so that {@link #previousStep} still
+     * returns through them.
+     *
+     * @param step the step to jump to.
+     * @throws IllegalStateException if the jump isn't allowed.
+     * @see #isJumpAllowed
+     */
+    public void jumpToStep(WizardStep step) {
+        int id = graph.getStepId(step);
+        if (id < 0) {
+            throw new IllegalStateException("Unknown step");
+        }
+
+        if (step != getActiveStep() && history.contains(id)) {
+            while (history.pop() != id) {
+                // discard the steps after the target
             }
+            setActiveStep(step);
+            return;
+        }
+
+        int position = findForwardJump(id);
+        if (step == getActiveStep() || position < 0) {
+            throw new IllegalStateException("Jump not allowed");
         }
 
-        public Path getPath() {
-            return last;
+        for (int i = routeOffset; i < position; i++) {
+            history.push(route[i]);
         }
+        routeOffset = position;
+        setActiveStep(step);
     }
 
-    private static class PathMapVisitor extends AbstractPathVisitor {
-        private final HashMap<WizardStep, Path> map = new HashMap<>();
+    /**
+     * Finds the position of a step on the projected route that can be reached by
+     * a forward jump, which requires the steps from the active step up to the
+     * target to be complete. Unless route caching is enabled, a route through
+     * branches is projected afresh, so a jump is never checked against, or
+     * recorded in the history from, a branch the model would no longer select.
+     *
+     * @return the position on the route, or -1 if the jump isn't allowed.
+     */
+    private int findForwardJump(int id) {
+        updateRoute();
+        if (route == null) {
+            return -1;
+        }
 
-        public PathMapVisitor() {
+        int[] positions = getRoutePositions();
+        int position = positions[id];
+        if (position <= routeOffset) {
+            return -1;
         }
 
-        @Override
-        public void visitPath(SimplePath path) {
-            if (enter(path)) {
-                populateMap(path);
-                path.visitNextPath(this);
+        for (WizardStep step : getIncompleteSteps()) {
+            int stepPosition = positions[graph.getStepId(step)];
+            if (stepPosition >= routeOffset && stepPosition < position) {
+                return -1;
             }
         }
+        return position;
+    }
 
-        @Override
-        public void visitPath(BranchingPath path) {
-            if (enter(path)) {
-                populateMap(path);
-                path.visitBranches(this);
+    /**
+     * Gets the position of each step on the route, or -1 for the steps that
+     * aren't on it. The table is kept with the route, and is refilled rather
+     * than reallocated when the route is projected again.
+     */
+    private int[] getRoutePositions() {
+        if (positionedRoute != route) {
+            if (routePositions == null) {
+                routePositions = new int[graph.getStepCount()];
+                Arrays.fill(routePositions, -1);
+            } else {
+                for (int id : positionedRoute) {
+                    routePositions[id] = -1;
+                }
+            }
+            for (int i = 0; i < route.length; i++) {
+                routePositions[route[i]] = i;
             }
+            positionedRoute = route;
         }
+        return routePositions;
+    }
 
-        private void populateMap(Path path) {
-            for (WizardStep step : path.getSteps()) {
-                map.put(step, path);
+    /**
+     * Returns true if all the steps in the wizard return {@code true} from
+     * {@link WizardStep#isComplete}. This is primarily used to determine if the
+     * last button can be enabled.
+     * <p>
+     * If {@link #setReachableStepsOnly reachableStepsOnly} is set then only the
+     * steps in the history and on the projected route are checked. The route is
+     * projected with the current results of the branch conditions, so this is
+     * correct even if a condition has changed since the last refresh. With
+     * {@link #setRouteCaching route caching} the cached route is checked until
+     * it is invalidated.
+     *
+     * @return {@code true} if all the steps in the wizard are complete,
+     *         {@code false} otherwise.
+     */
+    public boolean allStepsComplete() {
+        if (!reachableStepsOnly || getActiveStep() == null) {
+            return getIncompleteStepCount() == 0;
+        }
+
+        updateRoute();
+        Set<WizardStep> incompleteSteps = getIncompleteSteps();
+        for (int i = routeOffset; i < route.length; i++) {
+            if (incompleteSteps.contains(graph.getStep(route[i]))) {
+                return false;
             }
         }
 
-        public Map<WizardStep, Path> getMap() {
-            return map;
+        for (WizardStep step : incompleteSteps) {
+            if (history.contains(graph.getStepId(step))) {
+                return false;
+            }
         }
+
+        return true;
     }
 
+    @Override
+    public Iterator<WizardStep> stepIterator() {
+        return graph.getSteps().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns an unmodifiable list that is shared between
+     * calls. The steps are in the order the paths were traversed when compiled,
+     * which is stable from one run to the next.
+     */
+    @Override
+    public List<WizardStep> steps() {
+        return graph.getSteps();
+    }
+
+    protected Path getPathForStep(WizardStep step) {
+        int id = graph.getStepId(step);
+        return id < 0 ? null : graph.getPath(id);
+    }
 }
+
@@ -28,6 +28,7 @@ import org.pietschy.wizard.WizardStep;
  */
 public abstract class Path {
     private final ArrayList<WizardStep> steps = new ArrayList<>();
+    private final StepIndex stepIndex = new StepIndex(steps);
 
     protected Path() {
     }
@@ -48,6 +49,7 @@ public abstract class Path {
      */
     public void addStep(WizardStep step) {
         steps.add(step);
+        stepIndex.added(step);
     }
 
     public WizardStep firstStep() {
@@ -55,12 +57,12 @@ public abstract class Path {
     }
 
     public WizardStep nextStep(WizardStep currentStep) {
-        int index = steps.indexOf(currentStep);
+        int index = stepIndex.indexOf(currentStep);
         return steps.get(index + 1);
     }
 
     public WizardStep previousStep(WizardStep currentStep) {
-        int index = steps.indexOf(currentStep);
+        int index = stepIndex.indexOf(currentStep);
         return steps.get(index - 1);
     }
 
@@ -76,7 +78,7 @@ public abstract class Path {
      *         otherwise.
      */
     public boolean isFirstStep(WizardStep step) {
-        return steps.indexOf(step) == 0;
+        return !steps.isEmpty() && steps.get(0) == step;
     }
 
     /**
@@ -87,15 +89,20 @@ public abstract class Path {
      *         otherwise.
      */
     public boolean isLastStep(WizardStep step) {
-        return steps.lastIndexOf(step) == steps.size() - 1;
+        return !steps.isEmpty() && steps.get(steps.size() - 1) == step;
     }
 
+    /**
+     * Gets the steps in this path. Steps should be added using {@link #addStep}.
+     *
+     * @return the steps in this path.
+     */
     public ArrayList<WizardStep> getSteps() {
         return steps;
     }
 
     public boolean contains(WizardStep step) {
-        return steps.contains(step);
+        return stepIndex.contains(step);
     }
 
     public abstract void acceptVisitor(PathVisitor visitor);
@@ -0,0 +1,361 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import org.pietschy.wizard.WizardStep;
+
+/**
+ * An immutable, compiled form of a graph of {@link Path Paths} for use by
+ * {@link MultiPathModel}. Compiling flattens the steps of every path reachable
+ * from the first path into arrays indexed by step id, with the ids of each
+ * path's steps being contiguous, and records the successor of each path in
+ * tables. Navigation then works on ids rather than walking the paths.
+ * <p>
+ * A graph only refers to the paths, steps and conditions it was compiled from,
+ * so one graph may be shared by any number of models.
+ *
+ * <pre>
+ * PathGraph graph = PathGraph.compile(firstPath);
+ * MultiPathModel model = new MultiPathModel(graph);
+ * </pre>
+ *
+ * The paths must not be modified after the graph has been compiled. Subclasses
+ * of {@link SimplePath} and {@link BranchingPath} are always asked for their
+ * next path, since they may override {@link Path#getNextPath}.
+ * <p>
+ * Each step may only appear once in the graph, since a step shared by two paths
+ * doesn't identify which of them to continue along. Put a shared step in a path
+ * of its own that both paths lead to.
+ */
+public final class PathGraph {
+    private static final int NONE = -1;
+    private static final int BRANCH = -2;
+    private static final int DYNAMIC = -3;
+
+    private final Path[] paths;
+    private final WizardStep[] steps;
+    private final int[] stepPath;
+    private final int[] pathStart;
+    private final int[] pathEnd;
+    private final int[] nextPath;
+    private final int[] branchStart;
+    private final Condition[] branchConditions;
+    private final int[] branchTargets;
+    private final int[] selectedTargets;
+    private final BranchSelector[] selectors;
+    private final IdentityHashMap<WizardStep, Integer> stepIds = new IdentityHashMap<>();
+    private final IdentityHashMap<Path, Integer> pathIds = new IdentityHashMap<>();
+    private final List<WizardStep> stepList;
+    private final int lastPath;
+
+    private PathGraph(List<Path> reachable) {
+        paths = reachable.toArray(new Path[0]);
+        for (int p = 0; p < paths.length; p++) {
+            pathIds.put(paths[p], p);
+        }
+
+        int stepCount = 0;
+        for (Path path : paths) {
+            if (path.getSteps().isEmpty()) {
+                throw new IllegalStateException("Paths must contain at least one step");
+            }
+            stepCount += path.getSteps().size();
+        }
+
+        steps = new WizardStep[stepCount];
+        stepPath = new int[stepCount];
+        pathStart = new int[paths.length];
+        pathEnd = new int[paths.length];
+        nextPath = new int[paths.length];
+        branchStart = new int[paths.length + 1];
+        selectors = new BranchSelector[paths.length];
+
+        List<Condition> conditions = new ArrayList<>();
+        List<Path> targets = new ArrayList<>();
+        List<Path> selected = new ArrayList<>();
+        int last = NONE;
+        int id = 0;
+        for (int p = 0; p < paths.length; p++) {
+            Path path = paths[p];
+            pathStart[p] = id;
+            for (WizardStep step : path.getSteps()) {
+                steps[id] = step;
+                stepPath[id] = p;
+                if (stepIds.put(step, id) != null) {
+                    throw new IllegalStateException("Steps must only appear once in the paths");
+                }
+                id++;
+            }
+            pathEnd[p] = id - 1;
+
+            branchStart[p] = conditions.size();
+            if (path instanceof SimplePath && ((SimplePath) path).getNextPath() == null) {
+                if (last != NONE) {
+                    throw new IllegalStateException("Two paths have empty values for nextPath");
+                }
+                last = p;
+            }
+
+            if (path.getClass() == SimplePath.class) {
+                Path next = ((SimplePath) path).getNextPath();
+                nextPath[p] = next == null ? NONE : pathIds.get(next);
+            } else if (path.getClass() == BranchingPath.class) {
+                BranchingPath branchingPath = (BranchingPath) path;
+                nextPath[p] = BRANCH;
+                selectors[p] = branchingPath.getBranchSelector();
+                for (BranchingPath.Branch branch : branchingPath.getBranches()) {
+                    conditions.add(branch.condition);
+                    targets.add(branch.path);
+                }
+                for (BranchingPath.Branch branch : branchingPath.getBranchesAdded()) {
+                    selected.add(branch.path);
+                }
+            } else {
+                nextPath[p] = DYNAMIC;
+            }
+        }
+        branchStart[paths.length] = conditions.size();
+
+        stepList = Collections.unmodifiableList(Arrays.asList(steps));
+
+        if (last == NONE) {
+            throw new IllegalStateException("Unable to locate last path");
+        }
+        lastPath = last;
+
+        branchConditions = conditions.toArray(new Condition[0]);
+        branchTargets = new int[targets.size()];
+        selectedTargets = new int[selected.size()];
+        for (int i = 0; i < branchTargets.length; i++) {
+            branchTargets[i] = pathIds.get(targets.get(i));
+            selectedTargets[i] = pathIds.get(selected.get(i));
+        }
+    }
+
+    /**
+     * Compiles the graph of paths reachable from the specified path. The paths
+     * must be fully constructed and linked.
+     *
+     * @param firstPath the starting path.
+     * @return the compiled graph.
+     * @throws IllegalStateException if the last path can't be determined, a
+     *                               path contains no steps or a step appears
+     *                               more than once.
+     */
+    public static PathGraph compile(Path firstPath) {
+        if (firstPath == null) {
+            throw new NullPointerException("firstPath is null");
+        }
+
+        CollectingVisitor visitor = new CollectingVisitor();
+        firstPath.acceptVisitor(visitor);
+        return new PathGraph(visitor.paths);
+    }
+
+    public Path getFirstPath() {
+        return paths[0];
+    }
+
+    public Path getLastPath() {
+        return paths[lastPath];
+    }
+
+    /**
+     * Gets the number of step ids in the graph.
+     */
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    /**
+     * Gets the steps in the graph, in the order the paths were
+     * traversed by {@link #compile}.
+     *
+     * @return an unmodifiable list of the steps.
+     */
+    public List<WizardStep> getSteps() {
+        return stepList;
+    }
+
+    /**
+     * Gets the step with the specified id.
+     */
+    public WizardStep getStep(int id) {
+        return steps[id];
+    }
+
+    /**
+     * Gets the id of the specified step.
+     *
+     * @return the id of the step, or -1 if the step isn't in the graph.
+     */
+    public int getStepId(WizardStep step) {
+        Integer id = stepIds.get(step);
+        return id == null ? NONE : id;
+    }
+
+    Path getPath(int id) {
+        return paths[stepPath[id]];
+    }
+
+    int getFirstStepId() {
+        return 0;
+    }
+
+    int getLastStepId() {
+        return pathEnd[lastPath];
+    }
+
+    /**
+     * Gets the id of the step following the specified step, evaluating the
+     * conditions of a {@link BranchingPath} if required.
+     */
+    int getNextStepId(int id, MultiPathModel model) {
+        int p = stepPath[id];
+        if (id < pathEnd[p]) {
+            return id + 1;
+        }
+        return pathStart[selectNextPath(p, model, true)];
+    }
+
+    /**
+     * Projects the route from the specified step to the end of the last path,
+     * using the current results of the branch conditions. The projection stops
+     * early if it would revisit a path or if no branch matches.
+     *
+     * @return the ids of the steps on the route, starting with the specified
+     *         step.
+     */
+    int[] projectRoute(int id, MultiPathModel model) {
+        int[] route = new int[16];
+        int length = 0;
+        boolean[] visited = new boolean[paths.length];
+        int p = stepPath[id];
+        int start = id;
+        while (true) {
+            visited[p] = true;
+            int count = pathEnd[p] - start + 1;
+            if (length + count > route.length) {
+                route = Arrays.copyOf(route, Math.max(route.length * 2, length + count));
+            }
+            for (int i = start; i <= pathEnd[p]; i++) {
+                route[length++] = i;
+            }
+
+            int next = selectNextPath(p, model, false);
+            if (next == NONE || visited[next]) {
+                return Arrays.copyOf(route, length);
+            }
+            p = next;
+            start = pathStart[p];
+        }
+    }
+
+    /**
+     * Checks if a route returned by {@link #projectRoute} is determined by the
+     * links between the paths alone. A route that leaves a {@link BranchingPath}
+     * or a path that overrides {@link Path#getNextPath} depends on conditions
+     * that may change at any time.
+     */
+    boolean isFixedRoute(int[] route) {
+        for (int id : route) {
+            int p = stepPath[id];
+            if (id == pathEnd[p] && nextPath[p] < NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Selects the path to follow the specified path. If {@code strict} is false
+     * then {@code NONE} is returned rather than throwing an exception when there
+     * is no next path.
+     */
+    private int selectNextPath(int p, MultiPathModel model, boolean strict) {
+        switch (nextPath[p]) {
+            case NONE:
+                if (!strict) {
+                    return NONE;
+                }
+                throw new IllegalStateException("Already on last step");
+
+            case BRANCH:
+                if (selectors[p] != null) {
+                    int index = selectors[p].selectBranch(model);
+                    if (index >= branchStart[p + 1] - branchStart[p]) {
+                        throw new IllegalStateException("No branch at index " + index);
+                    }
+                    if (index >= 0) {
+                        return selectedTargets[branchStart[p] + index];
+                    }
+                }
+
+                for (int b = branchStart[p]; b < branchStart[p + 1]; b++) {
+                    if (branchConditions[b] == null || branchConditions[b].evaluate(model)) {
+                        return branchTargets[b];
+                    }
+                }
+                if (!strict) {
+                    return NONE;
+                }
+                throw new IllegalStateException("No next path selected");
+
+            case DYNAMIC:
+                Integer next = pathIds.get(paths[p].getNextPath(model));
+                if (next == null && !strict) {
+                    return NONE;
+                }
+                if (next == null) {
+                    throw new IllegalStateException("Next path is not part of the graph");
+                }
+                return next;
+
+            default:
+                return nextPath[p];
+        }
+    }
+
+    private static class CollectingVisitor extends AbstractPathVisitor {
+        private final List<Path> paths = new ArrayList<>();
+
+        @Override
+        public void visitPath(SimplePath path) {
+            if (enter(path)) {
+                paths.add(path);
+                path.visitNextPath(this);
+            }
+        }
+
+        @Override
+        public void visitPath(BranchingPath path) {
+            if (enter(path)) {
+                paths.add(path);
+                path.visitBranches(this);
+            }
+        }
+    }
+}
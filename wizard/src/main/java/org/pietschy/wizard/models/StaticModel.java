@@ -36,16 +36,26 @@ import org.pietschy.wizard.WizardStep;
  */
 public class StaticModel extends AbstractWizardModel implements OverviewProvider {
 
+    /**
+     * Models with more steps than this use a {@link StaticModelListOverview} by
+     * default.
+     *
+     * @see #createOverviewComponent()
+     */
+    public static final int LIST_OVERVIEW_THRESHOLD = 100;
+
     private final ArrayList<WizardStep> steps = new ArrayList<>();
+    private final StepIndex stepIndex = new StepIndex(steps);
 
     private int currentStep = 0;
-    private StaticModelOverview overviewComponent;
+    private JComponent overviewComponent;
 
     public StaticModel() {
     }
 
     @Override
     public void reset() {
+        recheckCompleteSteps();
         currentStep = 0;
         setActiveStep(steps.get(currentStep));
     }
@@ -77,23 +87,18 @@ public class StaticModel extends AbstractWizardModel implements OverviewProvider
     }
 
     public void jumpToStep(WizardStep step) {
-        boolean jumped = false;
-        for (int ii = 0; ii < steps.size(); ++ii) {
-            if (steps.get(ii) == step) {
-                currentStep = ii;
-                jumped = true;
-                setActiveStep(step);
-            }
-        }
-
-        if (!jumped) {
+        int index = stepIndex.indexOf(step);
+        if (index < 0) {
             throw new IllegalStateException("Unknown step");
         }
-   }
+
+        currentStep = index;
+        setActiveStep(step);
+    }
 
     @Override
     public boolean isLastStep(WizardStep step) {
-        return steps.indexOf(step) == steps.size() - 1;
+        return stepIndex.indexOf(step) == steps.size() - 1;
     }
 
     @Override
@@ -113,15 +118,21 @@ public class StaticModel extends AbstractWizardModel implements OverviewProvider
      */
     public void add(WizardStep step) {
         steps.add(step);
+        stepIndex.added(step);
         addCompleteListener(step);
     }
 
     @Override
     public void refreshModelState() {
-        setNextAvailable(getActiveStep().isComplete() && !isLastStep(getActiveStep()));
-        setPreviousAvailable(currentStep > 0);
-        setLastAvailable(allStepsComplete() && !isLastStep(getActiveStep()));
-        setCancelAvailable(true);
+        beginUpdate();
+        try {
+            setNextAvailable(getActiveStep().isComplete() && !isLastStep(getActiveStep()));
+            setPreviousAvailable(currentStep > 0);
+            setLastAvailable(allStepsComplete() && !isLastStep(getActiveStep()));
+            setCancelAvailable(true);
+        } finally {
+            commitUpdate();
+        }
     }
 
     /**
@@ -133,24 +144,39 @@ public class StaticModel extends AbstractWizardModel implements OverviewProvider
      *         {@code false} otherwise.
      */
     public boolean allStepsComplete() {
-        for (WizardStep step : steps) {
-            if (!step.isComplete()) {
-                return false;
-            }
-        }
-
-        return true;
+        return getIncompleteStepCount() == 0;
     }
 
     @Override
     public JComponent getOverviewComponent() {
         if (overviewComponent == null) {
-            overviewComponent = new StaticModelOverview(this);
+            overviewComponent = createOverviewComponent();
         }
 
         return overviewComponent;
     }
 
+    /**
+     * Called to create the overview component. By default this is a
+     * {@link StaticModelOverview}, or for models with more than
+     * {@link #LIST_OVERVIEW_THRESHOLD} steps a {@link StaticModelListOverview}
+     * which only renders the visible steps. Subclasses may override to choose
+     * either explicitly or to provide their own overview.
+     *
+     * @return the overview component.
+     */
+    protected JComponent createOverviewComponent() {
+        if (steps.size() > LIST_OVERVIEW_THRESHOLD) {
+            return new StaticModelListOverview(this);
+        }
+        return new StaticModelOverview(this);
+    }
+
+    /** Gets the index of the active step, or -1 if there is no active step. */
+    int getActiveIndex() {
+        return getActiveStep() == null ? -1 : currentStep;
+    }
+
     /** Returns true if and only if jumping to the given step is allowed from the current step. */
     public boolean isJumpAllowed(WizardStep step) {
        return false;
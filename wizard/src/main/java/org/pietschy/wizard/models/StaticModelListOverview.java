@@ -0,0 +1,254 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.SwingUtilities;
+import javax.swing.border.Border;
+
+import org.pietschy.wizard.I18n;
+import org.pietschy.wizard.ModelProperty;
+import org.pietschy.wizard.WizardStep;
+
+/**
+ * An overview panel for instances of {@link StaticModel} with a large number of
+ * steps. Unlike {@link StaticModelOverview}, which creates a label for every
+ * step, this uses a {@link JList} with a single renderer so only the visible
+ * rows are painted, and only the affected rows are repainted as the active step
+ * changes or the mouse moves.
+ *
+ * @see StaticModel#createOverviewComponent()
+ */
+public class StaticModelListOverview extends JPanel implements PropertyChangeListener {
+    private static final Border EMPTY_BORDER = BorderFactory.createEmptyBorder(2, 4, 2, 4);
+    private static final Border HOVER_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(Color.gray), BorderFactory.createEmptyBorder(1, 3, 1, 3));
+    private static final int VISIBLE_ROW_COUNT = 10;
+
+    private final StaticModel model;
+    private final List<WizardStep> steps;
+    private final JList<WizardStep> list;
+    private final StepRenderer renderer = new StepRenderer();
+
+    private int activeIndex = -1;
+    private int hoverIndex = -1;
+    private boolean leftMouseDown = false;
+
+    public StaticModelListOverview(StaticModel model) {
+        this.model = model;
+        this.model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, this);
+        this.steps = model.steps();
+
+        setLayout(new BorderLayout());
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+
+        JLabel title = new JLabel(I18n.getString("StaticModelOverview.title"));
+        title.setBorder(BorderFactory.createEmptyBorder(0, 4, 4, 4));
+        add(title, BorderLayout.NORTH);
+
+        list = new JList<>(new AbstractListModel<WizardStep>() {
+            @Override
+            public int getSize() {
+                return steps.size();
+            }
+
+            @Override
+            public WizardStep getElementAt(int index) {
+                return steps.get(index);
+            }
+        });
+        list.setCellRenderer(renderer);
+        list.setBackground(Color.WHITE);
+        list.setFocusable(false);
+        list.setVisibleRowCount(Math.min(steps.size(), VISIBLE_ROW_COUNT));
+        configureCellSize();
+
+        MouseAdapter mouseHandler = new MouseHandler();
+        list.addMouseListener(mouseHandler);
+        list.addMouseMotionListener(mouseHandler);
+
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(null);
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Fixes the size of the cells so that the list doesn't render every row to
+     * determine its size. The width only requires the text of each row to be
+     * measured.
+     */
+    private void configureCellSize() {
+        FontMetrics metrics = list.getFontMetrics(list.getFont());
+        int width = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            width = Math.max(width, metrics.stringWidth(getStepText(i, steps.get(i))));
+        }
+
+        Insets insets = EMPTY_BORDER.getBorderInsets(renderer);
+        list.setFixedCellWidth(width + insets.left + insets.right);
+        list.setFixedCellHeight(metrics.getHeight() + insets.top + insets.bottom);
+    }
+
+    private static String getStepText(int index, WizardStep step) {
+        return (index + 1) + ". " + step.getName();
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getPropertyName().equals("activeStep")) {
+            repaintRow(activeIndex);
+            activeIndex = model.getActiveIndex();
+            repaintRow(activeIndex);
+            if (activeIndex >= 0) {
+                list.ensureIndexIsVisible(activeIndex);
+            }
+        }
+    }
+
+    private void repaintRow(int index) {
+        if (index >= 0) {
+            Rectangle bounds = list.getCellBounds(index, index);
+            if (bounds != null) {
+                list.repaint(bounds);
+            }
+        }
+    }
+
+    private void setHoverIndex(int index) {
+        if (index != hoverIndex) {
+            repaintRow(hoverIndex);
+            hoverIndex = index;
+            repaintRow(hoverIndex);
+        }
+    }
+
+    private int rowAt(Point p) {
+        int index = list.locationToIndex(p);
+        if (index >= 0 && list.getCellBounds(index, index).contains(p)) {
+            return index;
+        }
+        return -1;
+    }
+
+    private boolean isJumpAllowed(int index) {
+        if (index < 0 || index == activeIndex) {
+            return false;
+        }
+        return model.isJumpAllowed(steps.get(index));
+    }
+
+    private void jumpIfAllowed(int index) {
+        if (isJumpAllowed(index)) {
+            model.jumpToStep(steps.get(index));
+        }
+    }
+
+    /**
+     * Configures the renderer for the active step.
+     */
+    protected void formatActive(JLabel label) {
+        label.setOpaque(true);
+    }
+
+    /**
+     * Configures the renderer for an inactive step.
+     */
+    protected void formatInactive(JLabel label) {
+        label.setOpaque(false);
+    }
+
+    private class MouseHandler extends MouseAdapter {
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            int index = rowAt(e.getPoint());
+            setHoverIndex(isJumpAllowed(index) ? index : -1);
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (leftMouseDown) {
+                jumpIfAllowed(rowAt(e.getPoint()));
+            }
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            setHoverIndex(-1);
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            if (SwingUtilities.isLeftMouseButton(e)) {
+                leftMouseDown = true;
+                setHoverIndex(-1);
+                jumpIfAllowed(rowAt(e.getPoint()));
+            }
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            if (SwingUtilities.isLeftMouseButton(e)) {
+                leftMouseDown = false;
+            }
+        }
+    }
+
+    private class StepRenderer extends JLabel implements ListCellRenderer<WizardStep> {
+        StepRenderer() {
+            setBackground(new Color(240, 240, 240));
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends WizardStep> list, WizardStep step,
+                int index, boolean isSelected, boolean cellHasFocus) {
+            setText(getStepText(index, step));
+            setFont(list.getFont());
+            setForeground(list.getForeground());
+            setBorder(index == hoverIndex ? HOVER_BORDER : EMPTY_BORDER);
+            if (index == activeIndex) {
+                formatActive(this);
+            } else {
+                formatInactive(this);
+            }
+            return this;
+        }
+    }
+}
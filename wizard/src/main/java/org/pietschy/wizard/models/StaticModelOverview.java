@@ -36,6 +36,7 @@ import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 
 import org.pietschy.wizard.I18n;
+import org.pietschy.wizard.ModelProperty;
 import org.pietschy.wizard.WizardStep;
 
 /**
@@ -48,7 +49,7 @@ public class StaticModelOverview extends JPanel implements PropertyChangeListene
 
     public StaticModelOverview(StaticModel model) {
         this.model = model;
-        this.model.addPropertyChangeListener(this);
+        this.model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, this);
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
         setLayout(new BoxLayout(this, BoxLayout.PAGE_AXIS));
@@ -0,0 +1,153 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import java.util.Arrays;
+
+/**
+ * The navigation history of a model, held as the ids of the steps in a ring
+ * buffer. The history can optionally be bounded, in which case the oldest entry
+ * is discarded when the limit is reached, and can compact cycles so that
+ * returning to a step already in the history removes the entries after it.
+ * <p>
+ * This class isn't thread safe.
+ */
+final class StepHistory {
+    private int[] ids = new int[16];
+    private int head = 0;
+    private int size = 0;
+    private int limit = 0;
+    private boolean compactCycles = false;
+    private int[] occurrences = new int[16];
+
+    StepHistory() {
+    }
+
+    /**
+     * Sets the maximum number of entries, or zero for no limit. Excess entries
+     * are discarded oldest first.
+     */
+    void setLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit is negative: " + limit);
+        }
+
+        this.limit = limit;
+        while (limit > 0 && size > limit) {
+            removeOldest();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    void setCompactCycles(boolean compactCycles) {
+        this.compactCycles = compactCycles;
+    }
+
+    boolean isCompactCycles() {
+        return compactCycles;
+    }
+
+    void push(int id) {
+        if (compactCycles && contains(id)) {
+            while (pop() != id) {
+                // discard the cycle
+            }
+        }
+
+        if (limit > 0 && size == limit) {
+            removeOldest();
+        }
+
+        if (size == ids.length) {
+            int[] grown = new int[ids.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = ids[(head + i) % ids.length];
+            }
+            ids = grown;
+            head = 0;
+        }
+
+        ids[(head + size) % ids.length] = id;
+        size++;
+
+        if (id >= occurrences.length) {
+            occurrences = Arrays.copyOf(occurrences, Math.max(occurrences.length * 2, id + 1));
+        }
+        occurrences[id]++;
+    }
+
+    /**
+     * Removes the newest entry.
+     *
+     * @return the id of the step that was removed.
+     * @throws IllegalStateException if the history is empty.
+     */
+    int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("History is empty");
+        }
+
+        size--;
+        int id = ids[(head + size) % ids.length];
+        occurrences[id]--;
+        return id;
+    }
+
+    private void removeOldest() {
+        occurrences[ids[head]]--;
+        head = (head + 1) % ids.length;
+        size--;
+    }
+
+    boolean contains(int id) {
+        return id < occurrences.length && occurrences[id] > 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        while (size > 0) {
+            pop();
+        }
+        head = 0;
+    }
+
+    /**
+     * Gets the ids in the history, oldest first.
+     *
+     * @return a new array.
+     */
+    int[] toArray() {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ids[(head + i) % ids.length];
+        }
+        return result;
+    }
+}
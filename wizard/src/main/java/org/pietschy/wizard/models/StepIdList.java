@@ -0,0 +1,56 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+import org.pietschy.wizard.WizardStep;
+
+/**
+ * An unmodifiable list of steps held as an array of step ids, used for the
+ * projected routes and history snapshots of the models. The models replace
+ * rather than modify the arrays, so a list remains valid as a snapshot.
+ */
+final class StepIdList extends AbstractList<WizardStep> implements RandomAccess {
+    private final int[] ids;
+    private final int offset;
+    private final IntFunction<WizardStep> steps;
+
+    StepIdList(int[] ids, int offset, IntFunction<WizardStep> steps) {
+        this.ids = ids;
+        this.offset = offset;
+        this.steps = steps;
+    }
+
+    @Override
+    public WizardStep get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return steps.apply(ids[offset + index]);
+    }
+
+    @Override
+    public int size() {
+        return ids.length - offset;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import org.pietschy.wizard.WizardStep;
+
+/**
+ * Maps the steps in a list to their positions so the models don't need to scan
+ * the list on every navigation. Steps are matched by identity, and a step that
+ * appears more than once maps to its first position as {@link List#indexOf}
+ * would.
+ * <p>
+ * The list is owned by the caller, who calls {@link #added} after appending a
+ * step. The list may also be changed some other way: a position is only trusted
+ * after checking the list still holds the step there, and a step that isn't
+ * indexed is searched for in the list. Either mismatch rebuilds the index, and
+ * looking up a step that isn't in the list costs a scan.
+ */
+final class StepIndex {
+    private final List<WizardStep> steps;
+    private final IdentityHashMap<WizardStep, Integer> positions = new IdentityHashMap<>();
+    private int indexedSize = 0;
+
+    StepIndex(List<WizardStep> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Records a step that has just been appended to the list.
+     */
+    void added(WizardStep step) {
+        if (indexedSize == steps.size() - 1) {
+            positions.putIfAbsent(step, indexedSize);
+            indexedSize++;
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Gets the position of the step in the list.
+     *
+     * @return the position of the step, or -1 if the list doesn't contain it.
+     */
+    int indexOf(WizardStep step) {
+        if (indexedSize != steps.size()) {
+            rebuild();
+        }
+
+        Integer position = positions.get(step);
+        if (position != null && steps.get(position) == step) {
+            return position;
+        }
+
+        // the list was changed behind our back, or the step isn't in it
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) == step) {
+                rebuild();
+                return positions.get(step);
+            }
+        }
+        return -1;
+    }
+
+    boolean contains(WizardStep step) {
+        return indexOf(step) >= 0;
+    }
+
+    private void rebuild() {
+        positions.clear();
+        for (int i = 0; i < steps.size(); i++) {
+            positions.putIfAbsent(steps.get(i), i);
+        }
+        indexedSize = steps.size();
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class AbstractWizardModelTest {
+    private final PanelWizardStep first = new PanelWizardStep("first", "");
+    private final PanelWizardStep second = new PanelWizardStep("second", "");
+    private final List<String> events = new ArrayList<>();
+    private int refreshes;
+
+    private final StaticModel model = new StaticModel() {
+        @Override
+        public void refreshModelState() {
+            refreshes++;
+            super.refreshModelState();
+        }
+    };
+
+    AbstractWizardModelTest() {
+        model.add(first);
+        model.add(second);
+        model.reset();
+    }
+
+    @Test
+    void updateSendsOnlyTheNetChanges() {
+        model.addPropertyChangeListener(evt -> events.add(evt.getPropertyName()));
+
+        model.beginUpdate();
+        model.beginUpdate();
+        first.setComplete(true);
+        first.setComplete(false);
+        first.setComplete(true);
+        model.commitUpdate();
+        assertTrue(events.isEmpty());
+        model.commitUpdate();
+
+        assertEquals(Collections.singletonList("nextAvailable"), events);
+        assertFalse(model.isUpdating());
+    }
+
+    @Test
+    void commitWithoutBeginFails() {
+        assertThrows(IllegalStateException.class, model::commitUpdate);
+    }
+
+    @Test
+    void modelStateOnlyGoesToItsListeners() {
+        List<String> named = new ArrayList<>();
+        List<String> typed = new ArrayList<>();
+        List<String> active = new ArrayList<>();
+        model.addPropertyChangeListener(evt -> events.add(evt.getPropertyName()));
+        model.addPropertyChangeListener("modelState", evt -> named.add(evt.getPropertyName()));
+        model.addPropertyChangeListener(ModelProperty.MODEL_STATE, evt -> typed.add(evt.getPropertyName()));
+        model.addPropertyChangeListener(ModelProperty.ACTIVE_STEP, evt -> active.add(evt.getPropertyName()));
+
+        first.setComplete(true);
+        model.nextStep();
+
+        assertFalse(events.contains("modelState"));
+        assertEquals(Arrays.asList("modelState", "modelState"), named);
+        assertEquals(named, typed);
+        assertEquals(Collections.singletonList("activeStep"), active);
+    }
+
+    @Test
+    void removedPropertyListenerIsNotNotified() {
+        PropertyChangeListener listener = evt -> events.add(evt.getPropertyName());
+        model.addPropertyChangeListener(ModelProperty.NEXT_AVAILABLE, listener);
+        model.removePropertyChangeListener(ModelProperty.NEXT_AVAILABLE, listener);
+
+        first.setComplete(true);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void deferredRefreshesAreCoalesced() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            model.setDeferredRefresh(true);
+            refreshes = 0;
+            for (int i = 0; i < 10; i++) {
+                first.setComplete(i % 2 == 0);
+            }
+            assertEquals(0, refreshes);
+            assertFalse(model.isNextAvailable());
+        });
+
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(1, refreshes);
+            assertFalse(model.isNextAvailable());
+        });
+    }
+
+    @Test
+    void flushRunsThePendingRefresh() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            model.setDeferredRefresh(true);
+            first.setComplete(true);
+            assertFalse(model.isNextAvailable());
+
+            model.flushModelState();
+            assertTrue(model.isNextAvailable());
+            refreshes = 0;
+        });
+
+        SwingUtilities.invokeAndWait(() -> assertEquals(0, refreshes));
+    }
+
+    @Test
+    void disablingDeferredRefreshFlushes() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            model.setDeferredRefresh(true);
+            first.setComplete(true);
+            model.setDeferredRefresh(false);
+
+            assertTrue(model.isNextAvailable());
+        });
+    }
+
+    @Test
+    void completenessIsTrackedFromEvents() {
+        assertFalse(model.allStepsComplete());
+        first.setComplete(true);
+        second.setComplete(true);
+        assertTrue(model.allStepsComplete());
+        second.setComplete(false);
+        assertFalse(model.allStepsComplete());
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.ActionEvent;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class ActionStateCoordinatorTest {
+    private final PanelWizardStep first = new PanelWizardStep("first", "");
+    private final PanelWizardStep second = new PanelWizardStep("second", "");
+    private final StaticModel model = new StaticModel();
+    private final Wizard wizard;
+    private final CountingAction action;
+    private final ActionStateCoordinator coordinator;
+
+    ActionStateCoordinatorTest() {
+        model.add(first);
+        model.add(second);
+        wizard = new Wizard(model);
+        action = new CountingAction(wizard);
+        coordinator = new ActionStateCoordinator(wizard, action);
+    }
+
+    @Test
+    void onlyChangedStatesAreSet() {
+        assertFalse(action.isEnabled());
+        action.setEnabledCalls = 0;
+
+        coordinator.update();
+        first.setComplete(false);
+        model.refreshModelState();
+        assertEquals(0, action.setEnabledCalls);
+
+        first.setComplete(true);
+        assertTrue(action.isEnabled());
+        assertEquals(1, action.setEnabledCalls);
+
+        coordinator.update();
+        assertEquals(1, action.setEnabledCalls);
+    }
+
+    @Test
+    void followsTheActiveStep() {
+        first.setComplete(true);
+        model.nextStep();
+        assertFalse(action.isEnabled());
+
+        action.setEnabledCalls = 0;
+        first.setBusy(true);
+        second.setComplete(true);
+        second.setBusy(true);
+        assertFalse(action.isEnabled());
+        assertEquals(0, action.setEnabledCalls);
+    }
+
+    @Test
+    void busyStepDisablesTheAction() {
+        first.setComplete(true);
+        action.setEnabledCalls = 0;
+
+        first.setBusy(true);
+        assertFalse(action.isEnabled());
+        first.setBusy(false);
+        assertTrue(action.isEnabled());
+        assertEquals(2, action.setEnabledCalls);
+    }
+
+    @Test
+    void wizardButtonsFollowTheModel() {
+        assertFalse(wizard.getNextAction().isEnabled());
+        assertTrue(wizard.getCancelAction().isEnabled());
+
+        first.setComplete(true);
+        assertTrue(wizard.getNextAction().isEnabled());
+        assertFalse(wizard.getPreviousAction().isEnabled());
+
+        model.nextStep();
+        assertFalse(wizard.getNextAction().isEnabled());
+        assertTrue(wizard.getPreviousAction().isEnabled());
+    }
+
+    /**
+     * Enabled while the model allows moving to the next step, counting the calls
+     * to {@link #setEnabled}.
+     */
+    private static class CountingAction extends WizardAction {
+        int setEnabledCalls;
+
+        CountingAction(Wizard wizard) {
+            super("next", wizard, true);
+        }
+
+        @Override
+        boolean computeEnabled(WizardModel model, WizardStep activeStep, boolean busy) {
+            return model.isNextAvailable() && !busy;
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            setEnabledCalls++;
+            super.setEnabled(enabled);
+        }
+
+        @Override
+        public void doAction(ActionEvent e) {
+        }
+
+        @Override
+        protected void updateState() {
+        }
+    }
+}
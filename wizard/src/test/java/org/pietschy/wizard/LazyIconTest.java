@@ -0,0 +1,178 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.Icon;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+class LazyIconTest {
+    private final Graphics graphics = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB).getGraphics();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountingIcon image = new CountingIcon();
+    private final CountingIcon placeholder = new CountingIcon();
+    private final RepaintCounter component = new RepaintCounter();
+
+    @Test
+    void rejectsNullLoader() {
+        assertThrows(NullPointerException.class, () -> new LazyIcon(1, 1, null));
+    }
+
+    @Test
+    void declaredSizeDoesNotLoad() throws Exception {
+        LazyIcon icon = new LazyIcon(48, 32, this::loadImage);
+
+        assertEquals(48, icon.getIconWidth());
+        assertEquals(32, icon.getIconHeight());
+        Thread.sleep(50);
+        assertEquals(0, loads.get());
+        assertFalse(icon.isLoaded());
+    }
+
+    @Test
+    void paintingLoadsOnceAndRepaints() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LazyIcon icon = new LazyIcon(48, 48, () -> {
+            await(release);
+            return loadImage();
+        });
+        icon.setPlaceholder(placeholder);
+
+        onEdt(() -> {
+            icon.paintIcon(component, graphics, 0, 0);
+            icon.paintIcon(component, graphics, 0, 0);
+        });
+        assertEquals(2, placeholder.paints);
+        assertFalse(icon.isLoaded());
+
+        release.countDown();
+        waitUntilLoaded(icon);
+        onEdt(() -> icon.paintIcon(component, graphics, 0, 0));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, component.repaints);
+        assertEquals(1, image.paints);
+        assertEquals(2, placeholder.paints);
+    }
+
+    @Test
+    void loadPrefetchesWithoutPainting() throws Exception {
+        LazyIcon icon = new LazyIcon(48, 48, this::loadImage);
+
+        onEdt(icon::load);
+        waitUntilLoaded(icon);
+        onEdt(icon::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(0, image.paints);
+    }
+
+    @Test
+    void failedLoadKeepsPaintingThePlaceholder() throws Exception {
+        LazyIcon icon = new LazyIcon(48, 48, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("missing image");
+        });
+        icon.setPlaceholder(placeholder);
+
+        onEdt(() -> icon.paintIcon(component, graphics, 0, 0));
+        for (int i = 0; i < 100 && loads.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        onEdt(() -> {});
+        onEdt(() -> icon.paintIcon(component, graphics, 0, 0));
+
+        assertFalse(icon.isLoaded());
+        assertEquals(1, loads.get());
+        assertEquals(2, placeholder.paints);
+        assertEquals(0, component.repaints);
+    }
+
+    private Icon loadImage() {
+        loads.incrementAndGet();
+        return image;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void onEdt(Runnable runnable) throws Exception {
+        SwingUtilities.invokeAndWait(runnable);
+    }
+
+    private static void waitUntilLoaded(LazyIcon icon) throws Exception {
+        boolean[] loaded = new boolean[1];
+        for (int i = 0; i < 1000 && !loaded[0]; i++) {
+            onEdt(() -> loaded[0] = icon.isLoaded());
+            if (!loaded[0]) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(loaded[0]);
+    }
+
+    private static class CountingIcon implements Icon {
+        int paints;
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            paints++;
+        }
+
+        @Override
+        public int getIconWidth() {
+            return 48;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return 48;
+        }
+    }
+
+    private static class RepaintCounter extends JPanel {
+        // initialized after the JPanel constructor, so its own repaints aren't counted
+        int repaints = 0;
+
+        @Override
+        public void repaint() {
+            repaints++;
+        }
+    }
+}
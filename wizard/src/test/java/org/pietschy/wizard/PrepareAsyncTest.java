@@ -0,0 +1,103 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.WizardTest.CountingStep;
+import org.pietschy.wizard.models.StaticModel;
+
+class PrepareAsyncTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void preparesTheWizardInTheBackground() throws Exception {
+        CountingStep one = new CountingStep("one");
+        CountingStep two = new CountingStep("two");
+        AtomicBoolean suppliedOnEdt = new AtomicBoolean(true);
+        AtomicBoolean completedOnEdt = new AtomicBoolean();
+        AtomicReference<CompletableFuture<Wizard>> future = new AtomicReference<>();
+
+        // start on the EDT so the check is attached before the EDT can complete the future
+        SwingUtilities.invokeAndWait(() -> future.set(Wizard.prepareAsync(() -> {
+            suppliedOnEdt.set(SwingUtilities.isEventDispatchThread());
+            return WizardTest.model(one, two);
+        }, executor).thenApply(w -> {
+            completedOnEdt.set(SwingUtilities.isEventDispatchThread());
+            return w;
+        })));
+        Wizard wizard = future.get().get(10, TimeUnit.SECONDS);
+
+        assertFalse(suppliedOnEdt.get());
+        assertTrue(completedOnEdt.get());
+        assertSame(one, wizard.getModel().getActiveStep());
+        assertTrue(wizard.isStepInitialized(two));
+        assertEquals(1, one.loads.get());
+        assertEquals(1, two.loads.get());
+        assertEquals(1, two.inits);
+        assertFalse(one.loadThread.getName().startsWith("AWT-EventQueue"));
+    }
+
+    @Test
+    void modelFailureCompletesExceptionally() {
+        CompletableFuture<Wizard> future = Wizard.prepareAsync(() -> {
+            throw new IllegalStateException("no model");
+        }, executor);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+
+    @Test
+    void initFailureCompletesExceptionally() {
+        CountingStep failing = new CountingStep("failing") {
+            @Override
+            public void init(WizardModel model) {
+                throw new IllegalArgumentException("no init");
+            }
+        };
+        StaticModel model = WizardTest.model(new CountingStep("one"), failing);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> Wizard.prepareAsync(() -> model, executor).get(10, TimeUnit.SECONDS));
+        assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class StartupTimelineTest {
+    private StartupTimeline timeline;
+
+    @AfterEach
+    void stop() {
+        if (timeline != null) {
+            timeline.stop();
+        }
+    }
+
+    @Test
+    void recordsNothingWhenNotStarted() {
+        assertNull(StartupTimeline.current());
+        StartupTimeline.record("phase", StartupTimeline.mark());
+        assertNull(StartupTimeline.current());
+    }
+
+    @Test
+    void recordsOnTheStartingThreadOnly() throws InterruptedException {
+        timeline = StartupTimeline.start();
+        assertSame(timeline, StartupTimeline.current());
+
+        Thread other = new Thread(() -> StartupTimeline.record("other", StartupTimeline.mark()));
+        other.start();
+        other.join();
+        StartupTimeline.record("mine", new PanelWizardStep("step", ""), StartupTimeline.mark());
+
+        List<StartupTimeline.Entry> entries = timeline.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals("mine", entries.get(0).getPhase());
+        assertEquals("step", entries.get(0).getStepName());
+        assertEquals(Thread.currentThread().getName(), entries.get(0).getThreadName());
+        assertTrue(entries.get(0).getDurationNanos() >= 0);
+    }
+
+    @Test
+    void stopEndsRecording() {
+        timeline = StartupTimeline.start();
+        timeline.stop();
+
+        assertNull(StartupTimeline.current());
+        StartupTimeline.record("late", StartupTimeline.mark());
+        assertTrue(timeline.getEntries().isEmpty());
+    }
+
+    @Test
+    void totalsDurationsByPhase() {
+        timeline = StartupTimeline.start();
+        long start = System.nanoTime();
+        timeline.add("init", null, start, start + 10);
+        timeline.add("init", null, start, start + 5);
+        timeline.add("load", null, start, start + 7);
+
+        assertEquals(15, timeline.getTotalNanos("init"));
+        assertEquals(7, timeline.getTotalNanos("load"));
+        assertEquals(0, timeline.getTotalNanos("none"));
+    }
+
+    @Test
+    void dumpWritesOneLinePerEntry() {
+        timeline = StartupTimeline.start();
+        long start = System.nanoTime();
+        timeline.add("init", new PanelWizardStep("one", ""), start, start + 10);
+        timeline.add("wizard", null, start, start + 20);
+
+        String[] lines = timeline.toString().split("\n");
+        assertEquals(2, lines.length);
+        String[] fields = lines[0].split("\t");
+        assertEquals("10", fields[1]);
+        assertEquals("init", fields[2]);
+        assertEquals("one", fields[3]);
+        assertEquals("-", lines[1].split("\t")[3]);
+    }
+
+    @Test
+    void recordsTheWizardConstructionPhases() {
+        StaticModel model = new StaticModel();
+        model.add(new PanelWizardStep("one", ""));
+        timeline = StartupTimeline.start();
+        new Wizard(model);
+
+        Set<String> phases = new HashSet<>();
+        List<String> initialized = new ArrayList<>();
+        for (StartupTimeline.Entry entry : timeline.getEntries()) {
+            phases.add(entry.getPhase());
+            if (entry.getPhase().equals("init")) {
+                initialized.add(entry.getStepName());
+            }
+        }
+        assertTrue(phases.containsAll(Arrays.asList("actions", "init", "titleComponent", "buttonBar",
+                "reset", "wizard")), phases.toString());
+        assertEquals(Collections.singletonList("one"), initialized);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StepSizeCacheTest {
+    private final Preferences node =
+            Preferences.userRoot().node("org/pietschy/wizard/test/stepSizes" + System.nanoTime());
+    private String environment = "env1";
+
+    private final StepSizeCache cache = new StepSizeCache(node) {
+        @Override
+        protected String getEnvironmentKey() {
+            return environment;
+        }
+    };
+
+    @AfterEach
+    void removeNode() throws BackingStoreException {
+        node.removeNode();
+    }
+
+    /**
+     * A second step class, so that steps can share a name but not a class.
+     */
+    static class OtherStep extends PanelWizardStep {
+        OtherStep(String name) {
+            super(name, "");
+        }
+    }
+
+    @Test
+    void storesSizesByClassAndName() {
+        cache.put(new PanelWizardStep("one", ""), new Dimension(300, 200));
+
+        assertEquals(new Dimension(300, 200), cache.get(new PanelWizardStep("one", "")));
+        assertNull(cache.get(new PanelWizardStep("two", "")));
+        assertNull(cache.get(new OtherStep("one")));
+    }
+
+    @Test
+    void sizesAreKeptBetweenInstances() {
+        cache.put(new PanelWizardStep("one", ""), new Dimension(300, 200));
+
+        StepSizeCache other = new StepSizeCache(node) {
+            @Override
+            protected String getEnvironmentKey() {
+                return environment;
+            }
+        };
+        assertEquals(new Dimension(300, 200), other.get(new PanelWizardStep("one", "")));
+    }
+
+    @Test
+    void longKeysAreShortened() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < Preferences.MAX_KEY_LENGTH; i++) {
+            name.append('x');
+        }
+        PanelWizardStep longName = new PanelWizardStep(name.toString(), "");
+        PanelWizardStep longerName = new PanelWizardStep(name + "y", "");
+
+        cache.put(longName, new Dimension(1, 2));
+        cache.put(longerName, new Dimension(3, 4));
+        assertEquals(new Dimension(1, 2), cache.get(longName));
+        assertEquals(new Dimension(3, 4), cache.get(longerName));
+    }
+
+    @Test
+    void environmentChangeDiscardsSizes() {
+        cache.put(new PanelWizardStep("one", ""), new Dimension(300, 200));
+
+        environment = "env2";
+        assertNull(cache.get(new PanelWizardStep("one", "")));
+    }
+
+    @Test
+    void malformedValuesAreIgnored() {
+        cache.get(new PanelWizardStep("one", ""));
+        node.put(PanelWizardStep.class.getName() + "#one", "300");
+
+        assertNull(cache.get(new PanelWizardStep("one", "")));
+    }
+
+    @Test
+    void clearDiscardsSizes() throws BackingStoreException {
+        cache.put(new PanelWizardStep("one", ""), new Dimension(300, 200));
+        cache.clear();
+
+        assertNull(cache.get(new PanelWizardStep("one", "")));
+        assertTrue(node.keys().length <= 1);
+    }
+}
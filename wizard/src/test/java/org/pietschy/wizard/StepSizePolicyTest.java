@@ -0,0 +1,123 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class StepSizePolicyTest {
+    private final StaticModel model = new StaticModel();
+    private final PanelWizardStep small = step("small", 100, 50);
+    private final PanelWizardStep wide = step("wide", 400, 50);
+    private final PanelWizardStep tall = step("tall", 100, 300);
+
+    StepSizePolicyTest() {
+        model.add(small);
+        model.add(wide);
+        model.add(tall);
+    }
+
+    private static PanelWizardStep step(String name, int width, int height) {
+        PanelWizardStep step = new PanelWizardStep(name, "");
+        step.setPreferredSize(new Dimension(width, height));
+        step.setComplete(true);
+        return step;
+    }
+
+    @Test
+    void allStepsMeasuresEveryStep() {
+        Wizard wizard = new Wizard(model);
+
+        assertEquals(new Dimension(400, 300), StepSizePolicy.ALL_STEPS.getInitialSize(wizard));
+        Dimension size = new Dimension(400, 300);
+        assertEquals(size, StepSizePolicy.ALL_STEPS.getActivatedSize(wizard, tall, size));
+    }
+
+    @Test
+    void firstStepsMeasuresTheFirstAndActiveSteps() {
+        Wizard wizard = new Wizard(model);
+        model.nextStep();
+
+        assertEquals(new Dimension(400, 50), StepSizePolicy.firstSteps(1).getInitialSize(wizard));
+        assertEquals(new Dimension(400, 50), StepSizePolicy.firstSteps(2).getInitialSize(wizard));
+        assertEquals(new Dimension(400, 300), StepSizePolicy.firstSteps(5).getInitialSize(wizard));
+    }
+
+    @Test
+    void firstStepsGrowsButNeverShrinks() {
+        Wizard wizard = new Wizard(model);
+        StepSizePolicy policy = StepSizePolicy.firstSteps(1);
+
+        Dimension size = policy.getInitialSize(wizard);
+        assertEquals(new Dimension(100, 50), size);
+        size = policy.getActivatedSize(wizard, wide, size);
+        assertEquals(new Dimension(400, 50), size);
+        size = policy.getActivatedSize(wizard, tall, size);
+        assertEquals(new Dimension(400, 300), size);
+        size = policy.getActivatedSize(wizard, small, size);
+        assertEquals(new Dimension(400, 300), size);
+    }
+
+    @Test
+    void wizardGrowsWhenALargerStepIsActivated() {
+        Wizard wizard = new Wizard(model);
+        wizard.setStepSizePolicy(StepSizePolicy.firstSteps(1));
+        Dimension initial = wizard.getPreferredSize();
+
+        model.nextStep();
+        model.nextStep();
+        Dimension grown = wizard.getPreferredSize();
+        assertEquals(initial.height + 250, grown.height);
+
+        model.previousStep();
+        assertEquals(grown, wizard.getPreferredSize());
+    }
+
+    @Test
+    void fixedMeasuresNothing() {
+        Dimension size = new Dimension(123, 45);
+        StepSizePolicy policy = StepSizePolicy.fixed(size);
+        size.width = 0;
+        PanelWizardStep unmeasurable = new PanelWizardStep() {
+            @Override
+            public Dimension getPreferredSize() {
+                throw new AssertionError("measured");
+            }
+        };
+        StaticModel fixedModel = new StaticModel();
+        fixedModel.add(unmeasurable);
+        Wizard wizard = new Wizard(fixedModel);
+        wizard.setStepSizePolicy(policy);
+
+        assertEquals(new Dimension(123, 45), policy.getInitialSize(wizard));
+        assertTrue(wizard.getPreferredSize().width >= 123);
+    }
+
+    @Test
+    void rejectsNegativeCount() {
+        assertThrows(IllegalArgumentException.class, () -> StepSizePolicy.firstSteps(-1));
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Component;
+
+import javax.swing.JTextArea;
+
+import org.junit.jupiter.api.Test;
+
+class SummaryPaneTest {
+    private final SummaryPane pane = new SummaryPane();
+
+    @Test
+    void plainTextIsShownInATextArea() {
+        pane.setText("Enter your details");
+
+        JTextArea text = (JTextArea) shown();
+        assertEquals("Enter your details", text.getText());
+    }
+
+    @Test
+    void nullIsShownAsPlainText() {
+        pane.setText(null);
+
+        assertTrue(shown() instanceof JTextArea);
+    }
+
+    @Test
+    void markupIsShownAsHTML() {
+        pane.setText("Enter <b>your</b> details");
+        assertTrue(shown() instanceof HTMLPane);
+
+        pane.setText("Fish &amp; chips");
+        assertTrue(shown() instanceof HTMLPane);
+    }
+
+    @Test
+    void switchesBetweenPlainTextAndHTML() {
+        pane.setText("plain");
+        Component plain = shown();
+        pane.setText("<i>html</i>");
+        Component html = shown();
+        pane.setText("plain again");
+
+        assertSame(plain, shown());
+        assertEquals("plain again", ((JTextArea) plain).getText());
+        assertEquals(1, pane.getComponentCount());
+
+        pane.setText("<i>html again</i>");
+        assertSame(html, shown());
+        assertEquals(1, pane.getComponentCount());
+    }
+
+    @Test
+    void styleIsAppliedToBothPanes() {
+        pane.setText("<i>html</i>");
+        Component html = shown();
+        pane.setForeground(Color.RED);
+        pane.setText("plain");
+        Component plain = shown();
+
+        assertEquals(Color.RED, html.getForeground());
+        assertEquals(Color.RED, plain.getForeground());
+    }
+
+    private Component shown() {
+        assertEquals(1, pane.getComponentCount());
+        return pane.getComponent(0);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class WizardPoolTest {
+    private final PanelWizardStep first = step("first");
+    private final PanelWizardStep second = step("second");
+
+    private static PanelWizardStep step(String name) {
+        PanelWizardStep step = new PanelWizardStep(name, "");
+        step.setComplete(true);
+        return step;
+    }
+
+    private StaticModel model() {
+        StaticModel model = new StaticModel();
+        model.add(first);
+        model.add(second);
+        return model;
+    }
+
+    @Test
+    void reusesReleasedWizards() {
+        WizardPool pool = new WizardPool(1);
+        Wizard wizard = pool.acquire(model());
+        pool.release(wizard);
+        assertEquals(1, pool.getIdleCount());
+
+        StaticModel model = model();
+        assertSame(wizard, pool.acquire(model));
+        assertSame(model, wizard.getModel());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void reacquiringTheSameModelResetsIt() {
+        WizardPool pool = new WizardPool(1);
+        StaticModel model = model();
+        Wizard wizard = pool.acquire(model);
+        model.nextStep();
+        pool.release(wizard);
+
+        assertSame(wizard, pool.acquire(model));
+        assertSame(first, model.getActiveStep());
+    }
+
+    @Test
+    void releaseDetachesTheWizard() {
+        WizardPool pool = new WizardPool(1);
+        Wizard wizard = pool.acquire(model());
+        JPanel parent = new JPanel();
+        parent.add(wizard);
+        wizard.addWizardListener(new WizardAdapter() {
+        });
+
+        pool.release(wizard);
+        assertNull(wizard.getParent());
+        assertEquals(0, wizard.getListeners(WizardListener.class).length);
+    }
+
+    @Test
+    void holdsAtMostMaxIdleWizards() {
+        WizardPool pool = new WizardPool(1);
+        Wizard one = pool.acquire(model());
+        Wizard two = pool.acquire(model());
+        assertNotSame(one, two);
+
+        pool.release(one);
+        pool.release(two);
+        pool.release(one);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void usesTheFactoryWhenEmpty() {
+        WizardPool pool = new WizardPool(0, model -> new Wizard(model, Wizard.INIT_LAZY));
+
+        assertEquals(Wizard.INIT_LAZY, pool.acquire(model()).getInitMode());
+        assertThrows(IllegalArgumentException.class, () -> new WizardPool(-1));
+    }
+}
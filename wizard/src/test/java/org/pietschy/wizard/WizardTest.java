@@ -0,0 +1,243 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.models.StaticModel;
+
+class WizardTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * A step that counts how often it is loaded and initialized.
+     */
+    static class CountingStep extends PanelWizardStep implements LoadableStep {
+        final AtomicInteger loads = new AtomicInteger();
+        int inits;
+        volatile boolean loadedBeforeInit = true;
+        volatile Thread loadThread;
+
+        CountingStep(String name) {
+            super(name, "");
+            setComplete(true);
+        }
+
+        @Override
+        public void load(WizardModel model) {
+            loads.incrementAndGet();
+            loadThread = Thread.currentThread();
+        }
+
+        @Override
+        public void init(WizardModel model) {
+            if (loads.get() == 0) {
+                loadedBeforeInit = false;
+            }
+            inits++;
+        }
+    }
+
+    /**
+     * A step that only builds its view when it is initialized.
+     */
+    static class LargeStep extends CountingStep {
+        LargeStep(String name) {
+            super(name);
+            setLayout(new BorderLayout());
+        }
+
+        @Override
+        public void init(WizardModel model) {
+            super.init(model);
+            JPanel panel = new JPanel();
+            panel.setPreferredSize(new Dimension(800, 600));
+            add(panel, BorderLayout.CENTER);
+        }
+    }
+
+    static StaticModel model(CountingStep... steps) {
+        StaticModel model = new StaticModel();
+        for (CountingStep step : steps) {
+            model.add(step);
+        }
+        return model;
+    }
+
+    @Test
+    void eagerModeInitializesEveryStep() {
+        CountingStep one = new CountingStep("one");
+        CountingStep two = new CountingStep("two");
+        Wizard wizard = new Wizard(model(one, two));
+
+        assertEquals(Wizard.INIT_EAGER, wizard.getInitMode());
+        assertEquals(1, one.inits);
+        assertEquals(1, two.inits);
+        assertTrue(one.loadedBeforeInit);
+    }
+
+    @Test
+    void lazyModeInitializesStepsWhenShown() {
+        CountingStep one = new CountingStep("one");
+        CountingStep two = new CountingStep("two");
+        CountingStep three = new CountingStep("three");
+        StaticModel model = model(one, two, three);
+        Wizard wizard = new Wizard(model, Wizard.INIT_LAZY);
+
+        assertTrue(wizard.isStepInitialized(one));
+        assertFalse(wizard.isStepInitialized(two));
+        assertEquals(0, two.loads.get());
+
+        wizard.prefetchStep(three);
+        assertTrue(wizard.isStepInitialized(three));
+
+        model.nextStep();
+        model.nextStep();
+        model.previousStep();
+        assertEquals(1, one.inits);
+        assertEquals(1, two.inits);
+        assertEquals(1, three.inits);
+        assertTrue(two.loadedBeforeInit);
+    }
+
+    @Test
+    void rejectsUnknownInitMode() {
+        assertThrows(IllegalArgumentException.class, () -> new Wizard(model(new CountingStep("one")), 0));
+    }
+
+    @Test
+    void executorLoadsStepsBeforeConstructorReturns() {
+        CountingStep[] steps = new CountingStep[8];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = new CountingStep("step" + i);
+        }
+        Wizard wizard = new Wizard(model(steps), Wizard.INIT_LAZY, executor);
+
+        Set<Thread> threads = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CountingStep step : steps) {
+            assertEquals(1, step.loads.get());
+            threads.add(step.loadThread);
+        }
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertTrue(wizard.isStepInitialized(steps[0]));
+        assertFalse(wizard.isStepInitialized(steps[1]));
+
+        // showing a step that was loaded in the background only initializes it.
+        wizard.prefetchStep(steps[1]);
+        assertEquals(1, steps[1].loads.get());
+        assertEquals(1, steps[1].inits);
+    }
+
+    @Test
+    void loadFailureIsRethrown() {
+        CountingStep failing = new CountingStep("failing") {
+            @Override
+            public void load(WizardModel model) {
+                throw new IllegalStateException("load failed");
+            }
+        };
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new Wizard(model(failing), Wizard.INIT_EAGER, executor));
+        assertEquals("load failed", e.getMessage());
+    }
+
+    @Test
+    void lazyModeSizingDoesNotInitializeOtherSteps() {
+        CountingStep one = new CountingStep("one");
+        LargeStep two = new LargeStep("two");
+        Wizard wizard = new Wizard(model(one, two), Wizard.INIT_LAZY);
+
+        wizard.getPreferredSize();
+        assertFalse(wizard.isStepInitialized(two));
+    }
+
+    @Test
+    void lazyModeGrowsToFitStepsBuiltInInit() {
+        StaticModel eagerModel = model(new CountingStep("one"), new LargeStep("two"));
+        Dimension eager = new Wizard(eagerModel).getPreferredSize();
+
+        StaticModel lazyModel = model(new CountingStep("one"), new LargeStep("two"));
+        Wizard lazy = new Wizard(lazyModel, Wizard.INIT_LAZY);
+        lazy.getPreferredSize();
+        lazyModel.nextStep();
+
+        assertEquals(eager, lazy.getPreferredSize());
+        assertTrue(lazy.getPreferredSize().width > 800);
+        assertTrue(lazy.getPreferredSize().height > 600);
+    }
+
+    @Test
+    void measuringAStepInitializesIt() {
+        LargeStep two = new LargeStep("two");
+        Wizard wizard = new Wizard(model(new CountingStep("one"), two), Wizard.INIT_LAZY);
+
+        assertEquals(new Dimension(800, 600), wizard.measureStep(two));
+        assertTrue(wizard.isStepInitialized(two));
+    }
+
+    @Test
+    void setModelRebindsTheWizard() {
+        CountingStep one = new CountingStep("one");
+        CountingStep two = new CountingStep("two");
+        Wizard wizard = new Wizard(model(one));
+        StaticModel model = model(two);
+
+        wizard.setModel(model);
+        assertSame(model, wizard.getModel());
+        assertSame(two, model.getActiveStep());
+        assertEquals(1, two.inits);
+    }
+
+    @Test
+    void settingTheSameModelResetsTheWizard() {
+        CountingStep one = new CountingStep("one");
+        CountingStep two = new CountingStep("two");
+        StaticModel model = model(one, two);
+        Wizard wizard = new Wizard(model);
+        model.nextStep();
+
+        wizard.setModel(model);
+        assertSame(one, model.getActiveStep());
+        assertEquals(1, one.inits);
+    }
+}
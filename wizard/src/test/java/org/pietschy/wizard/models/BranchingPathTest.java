@@ -0,0 +1,152 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+import org.pietschy.wizard.WizardStep;
+
+class BranchingPathTest {
+    private int evaluations;
+
+    private final BranchingPath path = new BranchingPath(new PanelWizardStep("first", ""));
+    private final SimplePath end = new SimplePath(new PanelWizardStep("end", ""));
+    private final SimplePath pathA = target("a");
+    private final SimplePath pathB = target("b");
+    private final SimplePath pathC = target("c");
+
+
+    /** Creates a new condition, and so a new branch, each time. */
+    private Condition when(boolean result) {
+        return model -> {
+            evaluations++;
+            return result;
+        };
+    }
+
+    private SimplePath target(String name) {
+        SimplePath target = new SimplePath(new PanelWizardStep(name, ""));
+        target.setNextPath(end);
+        return target;
+    }
+
+    @Test
+    void higherPriorityIsEvaluatedFirst() {
+        path.addBranch(pathA, when(true));
+        path.addBranch(pathB, when(true), 5);
+        path.addBranch(pathC, when(true), -5);
+
+        assertNext(pathB);
+    }
+
+    @Test
+    void equalPrioritiesKeepTheOrderAdded() {
+        path.addBranch(pathA, when(false), 1);
+        path.addBranch(pathB, when(true), 1);
+        path.addBranch(pathC, when(true), 1);
+
+        assertNext(pathB);
+    }
+
+    @Test
+    void laterConditionsAreNotEvaluated() {
+        path.addBranch(pathA, when(false));
+        path.addBranch(pathB, when(true));
+        path.addBranch(pathC, model -> {
+            throw new AssertionError("evaluated after a match");
+        });
+
+        evaluations = 0;
+        assertSame(pathB, path.getNextPath(new MultiPathModel(path)));
+        assertEquals(2, evaluations);
+    }
+
+    @Test
+    void addingAConditionAgainReplacesItsBranch() {
+        Condition condition = when(true);
+        path.addBranch(pathA, when(false), 1);
+        path.addBranch(pathB, condition);
+        path.addBranch(pathC, condition, 2);
+
+        assertEquals(2, path.getBranchesAdded().size());
+        assertNext(pathC);
+    }
+
+    @Test
+    void unconditionalBranchIsTakenWhenNothingMatches() {
+        path.addBranch(pathA);
+        path.addBranch(pathB, when(false));
+        assertNext(pathA);
+
+        path.addBranch(pathC, when(true), Integer.MIN_VALUE);
+        assertNext(pathA);
+    }
+
+    @Test
+    void selectorChoosesByTheOrderAdded() {
+        path.addBranch(pathA, when(false), 1);
+        path.addBranch(pathB, when(true), 2);
+        path.addBranch(pathC);
+        path.setBranchSelector(model -> 0);
+
+        evaluations = 0;
+        assertNext(pathA);
+        assertEquals(0, evaluations);
+    }
+
+    @Test
+    void negativeSelectionEvaluatesTheConditions() {
+        path.addBranch(pathA, when(false));
+        path.addBranch(pathB, when(true));
+        path.setBranchSelector(model -> -1);
+
+        assertNext(pathB);
+    }
+
+    @Test
+    void selectionOutOfRangeFails() {
+        path.addBranch(pathA, when(true));
+        path.setBranchSelector(model -> 1);
+
+        assertThrows(IllegalStateException.class, () -> path.getNextPath(new MultiPathModel(path)));
+    }
+
+    @Test
+    void rejectsNullCondition() {
+        assertThrows(NullPointerException.class, () -> path.addBranch(pathA, null));
+    }
+
+    /**
+     * Checks the path chosen by the branching path, and that the compiled graph
+     * projects the same choice.
+     */
+    private void assertNext(SimplePath expected) {
+        MultiPathModel model = new MultiPathModel(path);
+        assertSame(expected, path.getNextPath(model));
+
+        PathGraph graph = model.getPathGraph();
+        WizardStep next = graph.getStep(graph.projectRoute(0, model)[1]);
+        assertSame(expected.firstStep(), next);
+    }
+}
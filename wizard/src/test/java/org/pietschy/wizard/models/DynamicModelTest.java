@@ -0,0 +1,199 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+
+class DynamicModelTest {
+    private boolean optional;
+    private int evaluations;
+
+    private final Condition optionalCondition = model -> {
+        evaluations++;
+        return optional;
+    };
+
+    private final PanelWizardStep first = step("first", true);
+    private final PanelWizardStep middle = step("middle", true);
+    private final PanelWizardStep last = step("last", true);
+
+    private final DynamicModel model = new DynamicModel();
+
+    DynamicModelTest() {
+        model.add(first);
+        model.add(middle, optionalCondition);
+        model.add(last);
+    }
+
+    private static PanelWizardStep step(String name, boolean complete) {
+        PanelWizardStep step = new PanelWizardStep(name, "");
+        step.setComplete(complete);
+        return step;
+    }
+
+    @Test
+    void skipsStepsWhoseConditionIsFalse() {
+        model.reset();
+        model.nextStep();
+        assertSame(last, model.getActiveStep());
+
+        model.reset();
+        optional = true;
+        model.nextStep();
+        assertSame(middle, model.getActiveStep());
+    }
+
+    @Test
+    void visibilityChangesAreSeenWithoutCaching() {
+        model.reset();
+        assertEquals(Arrays.asList(first, last), model.getProjectedRoute());
+
+        optional = true;
+        assertEquals(Arrays.asList(first, middle, last), model.getProjectedRoute());
+        assertEquals(2, model.getRemainingStepCount());
+    }
+
+    @Test
+    void cachedConditionsAreKeptUntilInvalidated() {
+        model.setConditionCaching(true);
+        model.reset();
+        model.getProjectedRoute();
+        long count = model.getConditionEvaluationCount();
+        model.getProjectedRoute();
+        model.refreshModelState();
+        assertEquals(count, model.getConditionEvaluationCount());
+        assertTrue(model.getConditionCacheHitCount() > 0);
+
+        optional = true;
+        assertEquals(Arrays.asList(first, last), model.getProjectedRoute());
+
+        model.invalidateConditions(optionalCondition);
+        assertEquals(Arrays.asList(first, middle, last), model.getProjectedRoute());
+        assertEquals(count + 1, model.getConditionEvaluationCount());
+    }
+
+    @Test
+    void conditionIsEvaluatedOncePerRefresh() {
+        // an incomplete step makes allStepsComplete depend on the condition.
+        middle.setComplete(false);
+        model.reset();
+        evaluations = 0;
+        model.refreshModelState();
+
+        assertEquals(1, evaluations);
+    }
+
+    @Test
+    void dependencyInvalidatesCachedCondition() {
+        model.setConditionCaching(true);
+        model.addConditionDependency(optionalCondition, first, "summary");
+        model.reset();
+        assertEquals(Arrays.asList(first, last), model.getProjectedRoute());
+
+        optional = true;
+        first.setSummary("changed");
+        assertEquals(Arrays.asList(first, middle, last), model.getProjectedRoute());
+    }
+
+    @Test
+    void lastStepFollowsVisibility() {
+        PanelWizardStep optionalLast = step("optionalLast", true);
+        model.add(optionalLast, optionalCondition);
+        model.reset();
+
+        assertTrue(model.isLastStep(last));
+        optional = true;
+        assertFalse(model.isLastStep(last));
+        assertTrue(model.isLastStep(optionalLast));
+    }
+
+    @Test
+    void allStepsCompleteIgnoresHiddenSteps() {
+        middle.setComplete(false);
+        model.reset();
+        assertTrue(model.allStepsComplete());
+
+        optional = true;
+        assertFalse(model.allStepsComplete());
+    }
+
+    @Test
+    void resetRechecksStepsThatDontFireEvents() {
+        boolean[] complete = {true};
+        PanelWizardStep silent = new PanelWizardStep("silent", "") {
+            @Override
+            public boolean isComplete() {
+                return complete[0];
+            }
+        };
+        model.add(silent);
+        model.reset();
+        assertTrue(model.allStepsComplete());
+
+        complete[0] = false;
+        model.reset();
+        assertFalse(model.allStepsComplete());
+    }
+
+    @Test
+    void jumpsForwardOverCompleteVisibleSteps() {
+        optional = true;
+        model.reset();
+
+        assertTrue(model.isJumpAllowed(last));
+        model.jumpToStep(last);
+        assertEquals(Arrays.asList(first, middle), model.getHistory());
+
+        model.jumpToStep(first);
+        assertTrue(model.getHistory().isEmpty());
+    }
+
+    @Test
+    void jumpIsBlockedByIncompleteVisibleStep() {
+        middle.setComplete(false);
+        model.reset();
+        assertTrue(model.isJumpAllowed(last));
+
+        optional = true;
+        assertFalse(model.isJumpAllowed(last));
+        assertThrows(IllegalStateException.class, () -> model.jumpToStep(last));
+    }
+
+    @Test
+    void compactHistoryDiscardsCycles() {
+        model.setCompactHistoryCycles(true);
+        model.reset();
+        model.nextStep();
+        model.jumpToStep(first);
+        model.nextStep();
+
+        assertEquals(Collections.singletonList(first), model.getHistory());
+    }
+}
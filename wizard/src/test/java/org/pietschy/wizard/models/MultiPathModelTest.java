@@ -0,0 +1,250 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+
+class MultiPathModelTest {
+    private boolean useB;
+
+    private final PanelWizardStep s1 = step("s1", true);
+    private final PanelWizardStep s2 = step("s2", true);
+    private final PanelWizardStep s3 = step("s3", true);
+    private final PanelWizardStep a1 = step("a1", true);
+    private final PanelWizardStep b1 = step("b1", false);
+    private final PanelWizardStep last = step("last", true);
+
+    private final MultiPathModel model;
+
+    MultiPathModelTest() {
+        BranchingPath first = new BranchingPath();
+        first.addStep(s1);
+        first.addStep(s2);
+        first.addStep(s3);
+        SimplePath pathA = new SimplePath();
+        pathA.addStep(a1);
+        SimplePath pathB = new SimplePath();
+        pathB.addStep(b1);
+        SimplePath lastPath = new SimplePath();
+        lastPath.addStep(last);
+
+        first.addBranch(pathA, m -> !useB);
+        first.addBranch(pathB, m -> useB);
+        pathA.setNextPath(lastPath);
+        pathB.setNextPath(lastPath);
+
+        model = new MultiPathModel(first);
+        model.reset();
+    }
+
+    private static PanelWizardStep step(String name, boolean complete) {
+        PanelWizardStep step = new PanelWizardStep(name, "");
+        step.setComplete(complete);
+        return step;
+    }
+
+    @Test
+    void navigatesTheSelectedBranch() {
+        model.nextStep();
+        model.nextStep();
+        useB = true;
+        model.nextStep();
+
+        assertSame(b1, model.getActiveStep());
+        model.previousStep();
+        assertSame(s3, model.getActiveStep());
+        assertEquals(Arrays.asList(s1, s2), model.getHistory());
+    }
+
+    @Test
+    void projectedRouteFollowsBranchConditions() {
+        assertEquals(Arrays.asList(s1, s2, s3, a1, last), model.getProjectedRoute());
+        assertEquals(4, model.getRemainingStepCount());
+
+        model.nextStep();
+        model.nextStep();
+        useB = true;
+
+        assertEquals(Arrays.asList(s3, b1, last), model.getProjectedRoute());
+        assertEquals(2, model.getRemainingStepCount());
+    }
+
+    @Test
+    void fixedRouteIsKeptAsTheActiveStepMoves() {
+        model.nextStep();
+        model.nextStep();
+        model.nextStep();
+
+        assertEquals(Arrays.asList(a1, last), model.getProjectedRoute());
+        model.nextStep();
+        assertEquals(Collections.singletonList(last), model.getProjectedRoute());
+        assertEquals(0, model.getRemainingStepCount());
+    }
+
+    @Test
+    void cachedRouteIsKeptUntilInvalidated() {
+        model.setRouteCaching(true);
+        assertEquals(Arrays.asList(s1, s2, s3, a1, last), model.getProjectedRoute());
+
+        useB = true;
+        model.nextStep();
+        assertEquals(Arrays.asList(s2, s3, a1, last), model.getProjectedRoute());
+
+        model.invalidateRoute();
+        assertEquals(Arrays.asList(s2, s3, b1, last), model.getProjectedRoute());
+        assertEquals(3, model.getRemainingStepCount());
+    }
+
+    @Test
+    void routeDependencyInvalidatesCachedRoute() {
+        model.setRouteCaching(true);
+        model.addRouteDependency(s1, "summary");
+        assertEquals(Arrays.asList(s1, s2, s3, a1, last), model.getProjectedRoute());
+
+        useB = true;
+        s1.setSummary("changed");
+        assertEquals(Arrays.asList(s1, s2, s3, b1, last), model.getProjectedRoute());
+    }
+
+    @Test
+    void reachableCompletenessSeesBranchChanges() {
+        model.setReachableStepsOnly(true);
+        model.nextStep();
+        model.nextStep();
+        assertTrue(model.allStepsComplete());
+
+        // the condition changes without any step's completeness changing.
+        useB = true;
+        assertFalse(model.allStepsComplete());
+        model.refreshModelState();
+        assertFalse(model.isLastAvailable());
+
+        b1.setComplete(true);
+        assertTrue(model.isLastAvailable());
+    }
+
+    @Test
+    void reachableCompletenessUsesTheCachedRoute() {
+        model.setReachableStepsOnly(true);
+        model.setRouteCaching(true);
+        model.addRouteDependency(s3, "summary");
+        model.nextStep();
+        model.nextStep();
+
+        useB = true;
+        assertTrue(model.allStepsComplete());
+
+        s3.setSummary("changed");
+        assertFalse(model.allStepsComplete());
+        assertFalse(model.isLastAvailable());
+    }
+
+    @Test
+    void allStepsCompleteIncludesUnreachableStepsByDefault() {
+        assertFalse(model.allStepsComplete());
+        b1.setComplete(true);
+        assertTrue(model.allStepsComplete());
+    }
+
+    @Test
+    void jumpForwardRecordsTheProjectedSteps() {
+        assertTrue(model.isJumpAllowed(a1));
+        model.jumpToStep(a1);
+
+        assertSame(a1, model.getActiveStep());
+        assertEquals(Arrays.asList(s1, s2, s3), model.getHistory());
+        model.previousStep();
+        assertSame(s3, model.getActiveStep());
+    }
+
+    @Test
+    void jumpIsCheckedAgainstTheCurrentBranch() {
+        model.nextStep();
+        model.nextStep();
+        assertTrue(model.isJumpAllowed(a1));
+        assertTrue(model.isJumpAllowed(last));
+
+        useB = true;
+        assertFalse(model.isJumpAllowed(a1));
+        assertThrows(IllegalStateException.class, () -> model.jumpToStep(a1));
+        // b1 is incomplete, so the last step can't be reached by jumping.
+        assertFalse(model.isJumpAllowed(last));
+
+        model.jumpToStep(b1);
+        assertEquals(Arrays.asList(s1, s2, s3), model.getHistory());
+    }
+
+    @Test
+    void jumpUsesTheCachedRoute() {
+        model.setRouteCaching(true);
+        model.nextStep();
+        assertTrue(model.isJumpAllowed(a1));
+
+        useB = true;
+        assertTrue(model.isJumpAllowed(a1));
+        model.invalidateRoute();
+        assertFalse(model.isJumpAllowed(a1));
+        assertTrue(model.isJumpAllowed(b1));
+    }
+
+    @Test
+    void jumpBackTruncatesTheHistory() {
+        model.nextStep();
+        model.nextStep();
+        model.nextStep();
+
+        assertTrue(model.isJumpAllowed(s2));
+        model.jumpToStep(s2);
+        assertSame(s2, model.getActiveStep());
+        assertEquals(Collections.singletonList(s1), model.getHistory());
+        assertFalse(model.isJumpAllowed(s2));
+    }
+
+    @Test
+    void historyLimitDisablesPrevious() {
+        model.setHistoryLimit(1);
+        model.nextStep();
+        model.nextStep();
+
+        assertEquals(Collections.singletonList(s2), model.getHistory());
+        model.previousStep();
+        assertFalse(model.isPreviousAvailable());
+    }
+
+    @Test
+    void resetClearsTheHistory() {
+        model.nextStep();
+        model.reset();
+
+        assertSame(s1, model.getActiveStep());
+        assertTrue(model.getHistory().isEmpty());
+        assertFalse(model.isPreviousAvailable());
+    }
+}
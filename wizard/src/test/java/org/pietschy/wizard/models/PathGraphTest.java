@@ -0,0 +1,124 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+import org.pietschy.wizard.WizardStep;
+
+class PathGraphTest {
+    private boolean optional;
+
+    private final WizardStep first1 = new PanelWizardStep("first1", "");
+    private final WizardStep first2 = new PanelWizardStep("first2", "");
+    private final WizardStep optional1 = new PanelWizardStep("optional1", "");
+    private final WizardStep last1 = new PanelWizardStep("last1", "");
+
+    private final BranchingPath firstPath = new BranchingPath();
+    private final SimplePath optionalPath = new SimplePath();
+    private final SimplePath lastPath = new SimplePath();
+
+    PathGraphTest() {
+        firstPath.addStep(first1);
+        firstPath.addStep(first2);
+        optionalPath.addStep(optional1);
+        lastPath.addStep(last1);
+
+        firstPath.addBranch(optionalPath, model -> optional);
+        firstPath.addBranch(lastPath, model -> !optional);
+        optionalPath.setNextPath(lastPath);
+    }
+
+    @Test
+    void compilesStepsInTraversalOrder() {
+        PathGraph graph = PathGraph.compile(firstPath);
+
+        assertEquals(Arrays.asList(first1, first2, optional1, last1), graph.getSteps());
+        assertEquals(4, graph.getStepCount());
+        assertSame(firstPath, graph.getFirstPath());
+        assertSame(lastPath, graph.getLastPath());
+        for (int id = 0; id < graph.getStepCount(); id++) {
+            assertEquals(id, graph.getStepId(graph.getStep(id)));
+        }
+        assertEquals(-1, graph.getStepId(new PanelWizardStep()));
+    }
+
+    @Test
+    void projectsRouteUsingCurrentConditions() {
+        PathGraph graph = PathGraph.compile(firstPath);
+        MultiPathModel model = new MultiPathModel(graph);
+
+        assertArrayEquals(new int[] {0, 1, 3}, graph.projectRoute(0, model));
+        optional = true;
+        assertArrayEquals(new int[] {0, 1, 2, 3}, graph.projectRoute(0, model));
+        assertArrayEquals(new int[] {2, 3}, graph.projectRoute(2, model));
+    }
+
+    @Test
+    void onlyRoutesThroughSimplePathsAreFixed() {
+        PathGraph graph = PathGraph.compile(firstPath);
+        MultiPathModel model = new MultiPathModel(graph);
+
+        assertFalse(graph.isFixedRoute(graph.projectRoute(0, model)));
+        assertTrue(graph.isFixedRoute(graph.projectRoute(2, model)));
+    }
+
+    @Test
+    void selectorChoosesBranchByIndex() {
+        firstPath.setBranchSelector(model -> 0);
+        PathGraph graph = PathGraph.compile(firstPath);
+
+        assertArrayEquals(new int[] {0, 1, 2, 3}, graph.projectRoute(0, new MultiPathModel(graph)));
+    }
+
+    @Test
+    void rejectsStepsInMoreThanOnePath() {
+        optionalPath.addStep(first1);
+
+        assertThrows(IllegalStateException.class, () -> PathGraph.compile(firstPath));
+    }
+
+    @Test
+    void rejectsEmptyPaths() {
+        SimplePath empty = new SimplePath();
+        optionalPath.setNextPath(empty);
+        empty.setNextPath(lastPath);
+
+        assertThrows(IllegalStateException.class, () -> PathGraph.compile(firstPath));
+    }
+
+    @Test
+    void rejectsGraphsWithoutALastPath() {
+        SimplePath loop = new SimplePath();
+        loop.addStep(new PanelWizardStep());
+        loop.setNextPath(loop);
+
+        assertThrows(IllegalStateException.class, () -> PathGraph.compile(loop));
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Rectangle;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+import org.pietschy.wizard.WizardStep;
+
+class StaticModelListOverviewTest {
+
+    @Test
+    void largeModelsUseTheListOverview() {
+        assertTrue(model(StaticModel.LIST_OVERVIEW_THRESHOLD).getOverviewComponent() instanceof StaticModelOverview);
+        assertTrue(model(StaticModel.LIST_OVERVIEW_THRESHOLD + 1).getOverviewComponent()
+                instanceof StaticModelListOverview);
+    }
+
+    @Test
+    void listsEveryStepInFixedSizeRows() {
+        StaticModel model = model(150);
+        JList<WizardStep> list = list(new StaticModelListOverview(model));
+
+        assertEquals(150, list.getModel().getSize());
+        assertSame(model.steps().get(149), list.getModel().getElementAt(149));
+        assertTrue(list.getFixedCellWidth() > 0);
+        assertTrue(list.getFixedCellHeight() > 0);
+        assertEquals(10, list.getVisibleRowCount());
+        assertEquals("150. Step 149", render(list, 149).getText());
+    }
+
+    @Test
+    void smallModelsShowEveryRow() {
+        assertEquals(3, list(new StaticModelListOverview(model(3))).getVisibleRowCount());
+    }
+
+    @Test
+    void highlightsTheActiveStep() {
+        StaticModel model = model(150);
+        JList<WizardStep> list = list(new StaticModelListOverview(model));
+        model.reset();
+        model.nextStep();
+
+        assertFalse(render(list, 0).isOpaque());
+        assertTrue(render(list, 1).isOpaque());
+        assertFalse(render(list, 2).isOpaque());
+    }
+
+    @Test
+    void clickingARowJumpsWhenAllowed() {
+        StaticModel model = new StaticModel() {
+            @Override
+            public boolean isJumpAllowed(WizardStep step) {
+                return steps().indexOf(step) < getActiveIndex();
+            }
+        };
+        addSteps(model, 150);
+        JList<WizardStep> list = list(new StaticModelListOverview(model));
+        list.setSize(list.getPreferredSize());
+        model.reset();
+        model.nextStep();
+        model.nextStep();
+
+        press(list, 3);
+        assertSame(model.steps().get(2), model.getActiveStep());
+
+        press(list, 0);
+        assertSame(model.steps().get(0), model.getActiveStep());
+    }
+
+    private static StaticModel model(int stepCount) {
+        StaticModel model = new StaticModel();
+        addSteps(model, stepCount);
+        return model;
+    }
+
+    private static void addSteps(StaticModel model, int stepCount) {
+        for (int i = 0; i < stepCount; i++) {
+            model.add(new PanelWizardStep("Step " + i, ""));
+        }
+    }
+
+    private static JLabel render(JList<WizardStep> list, int index) {
+        return (JLabel) list.getCellRenderer().getListCellRendererComponent(list,
+                list.getModel().getElementAt(index), index, false, false);
+    }
+
+    /**
+     * Sends a left click to the overview's own listener only, the list's look and
+     * feel can't handle mouse events when headless.
+     */
+    private static void press(JList<WizardStep> list, int index) {
+        Rectangle bounds = list.getCellBounds(index, index);
+        MouseEvent pressed = new MouseEvent(list, MouseEvent.MOUSE_PRESSED, 0, InputEvent.BUTTON1_DOWN_MASK,
+                bounds.x + 1, bounds.y + 1, 0, 0, 1, false, MouseEvent.BUTTON1);
+        for (MouseListener listener : list.getMouseListeners()) {
+            if (listener.getClass().getEnclosingClass() == StaticModelListOverview.class) {
+                listener.mousePressed(pressed);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JList<WizardStep> list(JComponent overview) {
+        return (JList<WizardStep>) find(overview);
+    }
+
+    private static Component find(Container container) {
+        for (Component c : container.getComponents()) {
+            if (c instanceof JList) {
+                return c;
+            }
+            if (c instanceof Container) {
+                Component found = find((Container) c);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
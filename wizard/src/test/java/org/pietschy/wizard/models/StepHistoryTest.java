@@ -0,0 +1,144 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StepHistoryTest {
+    @Test
+    void popsInReverseOrder() {
+        StepHistory history = new StepHistory();
+        history.push(1);
+        history.push(2);
+        history.push(3);
+
+        assertEquals(3, history.pop());
+        assertEquals(2, history.pop());
+        assertEquals(1, history.pop());
+        assertTrue(history.isEmpty());
+        assertThrows(IllegalStateException.class, history::pop);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        StepHistory history = new StepHistory();
+        for (int id = 0; id < 100; id++) {
+            history.push(id);
+        }
+
+        assertEquals(100, history.size());
+        assertEquals(99, history.pop());
+        assertEquals(0, history.toArray()[0]);
+    }
+
+    @Test
+    void limitDiscardsOldestEntries() {
+        StepHistory history = new StepHistory();
+        history.setLimit(3);
+        for (int id = 0; id < 5; id++) {
+            history.push(id);
+        }
+
+        assertArrayEquals(new int[] {2, 3, 4}, history.toArray());
+        assertFalse(history.contains(0));
+        assertFalse(history.contains(1));
+        assertTrue(history.contains(2));
+    }
+
+    @Test
+    void wrapsAroundAndThenGrows() {
+        StepHistory history = new StepHistory();
+        history.setLimit(16);
+        for (int id = 0; id < 20; id++) {
+            history.push(id);
+        }
+        assertArrayEquals(new int[] {4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19}, history.toArray());
+
+        // removing the limit lets the wrapped buffer grow, keeping the order.
+        history.setLimit(0);
+        history.push(20);
+        history.push(21);
+        assertEquals(18, history.size());
+        assertEquals(4, history.toArray()[0]);
+        assertEquals(21, history.pop());
+        assertEquals(20, history.pop());
+        assertEquals(19, history.pop());
+    }
+
+    @Test
+    void reducingTheLimitTrimsTheHistory() {
+        StepHistory history = new StepHistory();
+        for (int id = 0; id < 5; id++) {
+            history.push(id);
+        }
+
+        history.setLimit(2);
+        assertArrayEquals(new int[] {3, 4}, history.toArray());
+        assertThrows(IllegalArgumentException.class, () -> history.setLimit(-1));
+    }
+
+    @Test
+    void containsCountsRepeatedSteps() {
+        StepHistory history = new StepHistory();
+        history.push(7);
+        history.push(8);
+        history.push(7);
+
+        history.pop();
+        assertTrue(history.contains(7));
+        history.pop();
+        history.pop();
+        assertFalse(history.contains(7));
+    }
+
+    @Test
+    void compactCyclesDiscardsTheLoop() {
+        StepHistory history = new StepHistory();
+        history.setCompactCycles(true);
+        history.push(1);
+        history.push(2);
+        history.push(3);
+        history.push(2);
+
+        assertArrayEquals(new int[] {1, 2}, history.toArray());
+        assertFalse(history.contains(3));
+    }
+
+    @Test
+    void clearEmptiesTheHistory() {
+        StepHistory history = new StepHistory();
+        history.setLimit(4);
+        for (int id = 0; id < 6; id++) {
+            history.push(id);
+        }
+
+        history.clear();
+        assertTrue(history.isEmpty());
+        assertFalse(history.contains(5));
+        history.push(9);
+        assertArrayEquals(new int[] {9}, history.toArray());
+    }
+}
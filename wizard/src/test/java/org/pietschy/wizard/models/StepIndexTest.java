@@ -0,0 +1,117 @@
+/**
+ * Wizard Framework
+ * Copyright 2004 Andrew Pietsch or contributors
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.pietschy.wizard.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.pietschy.wizard.PanelWizardStep;
+import org.pietschy.wizard.WizardStep;
+
+class StepIndexTest {
+    private final WizardStep a = new PanelWizardStep("a", "");
+    private final WizardStep b = new PanelWizardStep("b", "");
+    private final WizardStep c = new PanelWizardStep("c", "");
+    private final List<WizardStep> steps = new ArrayList<>();
+    private final StepIndex index = new StepIndex(steps);
+
+    @Test
+    void indexesAddedSteps() {
+        add(a);
+        add(b);
+
+        assertEquals(0, index.indexOf(a));
+        assertEquals(1, index.indexOf(b));
+        assertEquals(-1, index.indexOf(c));
+    }
+
+    @Test
+    void duplicatesMapToTheirFirstPosition() {
+        add(a);
+        add(b);
+        add(a);
+
+        assertEquals(0, index.indexOf(a));
+    }
+
+    @Test
+    void stepsAreMatchedByIdentity() {
+        WizardStep equalToA = new PanelWizardStep("a", "") {
+            @Override
+            public boolean equals(Object o) {
+                return o == a || o == this;
+            }
+
+            @Override
+            public int hashCode() {
+                return a.hashCode();
+            }
+        };
+        add(a);
+
+        assertFalse(index.contains(equalToA));
+    }
+
+    @Test
+    void replacedStepsAreFound() {
+        add(a);
+        add(b);
+        steps.set(0, c);
+
+        assertTrue(index.contains(c));
+        assertFalse(index.contains(a));
+        assertEquals(1, index.indexOf(b));
+    }
+
+    @Test
+    void movedAndRemovedStepsAreFound() {
+        add(a);
+        add(b);
+        add(c);
+        steps.remove(a);
+
+        assertEquals(-1, index.indexOf(a));
+        assertEquals(0, index.indexOf(b));
+        assertEquals(1, index.indexOf(c));
+
+        steps.add(0, a);
+        assertEquals(0, index.indexOf(a));
+        assertEquals(2, index.indexOf(c));
+    }
+
+    @Test
+    void pathsSeeChangesToTheirStepList() {
+        SimplePath path = new SimplePath(a);
+        path.getSteps().set(0, b);
+
+        assertTrue(path.contains(b));
+        assertFalse(path.contains(a));
+    }
+
+    private void add(WizardStep step) {
+        steps.add(step);
+        index.added(step);
+    }
+}